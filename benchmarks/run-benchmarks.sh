@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Builds the benchmark jar and runs JMH with the GC allocation profiler, saving the results as
+# JSON under benchmarks/results/ so runs can be compared over time.
+#
+# Usage: benchmarks/run-benchmarks.sh [jmh options] [benchmark regex]
+#   benchmarks/run-benchmarks.sh                          # everything
+#   benchmarks/run-benchmarks.sh ExceptionConstruction    # one class
+#   SKIP_BUILD=1 benchmarks/run-benchmarks.sh -f 2 Dispatch
+set -euo pipefail
+
+BENCH_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$BENCH_DIR")"
+RESULTS_DIR="$BENCH_DIR/results"
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    (cd "$ROOT_DIR" && mvn -B -q -pl benchmarks -am package -DskipTests)
+fi
+
+mkdir -p "$RESULTS_DIR"
+REVISION="$(git -C "$ROOT_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+RESULT_FILE="$RESULTS_DIR/$(date +%Y%m%d-%H%M%S)-$REVISION.json"
+
+java -jar "$BENCH_DIR/target/benchmarks.jar" -prof gc -rf json -rff "$RESULT_FILE" "$@"
+
+echo "Results written to $RESULT_FILE"
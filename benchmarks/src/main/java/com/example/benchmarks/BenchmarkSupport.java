@@ -0,0 +1,50 @@
+package com.example.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Shared fixtures for the benchmarks.
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * A typical service2 error body as it arrives at service1.
+     */
+    public static final String VALIDATION_ERROR_BODY = "{\"error\":{\"code\":\"VALIDATION_ERROR\","
+            + "\"message\":\"Invalid email format\",\"timestamp\":\"2025-11-27T10:30:00.123456789\","
+            + "\"requestId\":\"5012b932-5c08-442c-a80d-147904786ef8\",\"path\":\"/api/v1/validation-error\","
+            + "\"details\":{\"reason\":\"Email must contain @ symbol\",\"field\":\"email\"}}}";
+
+    private BenchmarkSupport() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Mirrors the ObjectMapper Spring Boot auto-configures in both services.
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * An error body whose details map carries {@code entries} extra fields, for size scaling.
+     */
+    public static String largeErrorBody(int entries) {
+        StringBuilder body = new StringBuilder(VALIDATION_ERROR_BODY.length() + entries * 40);
+        body.append("{\"error\":{\"code\":\"VALIDATION_ERROR\",\"message\":\"Invalid email format\",")
+                .append("\"timestamp\":\"2025-11-27T10:30:00.123456789\",")
+                .append("\"requestId\":\"5012b932-5c08-442c-a80d-147904786ef8\",")
+                .append("\"path\":\"/api/v1/validation-error\",\"details\":{");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("\"field").append(i).append("\":\"value number ").append(i).append('"');
+        }
+        return body.append("}}}").toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.benchmarks;
+
+import com.example.service1.config.Service2ClientProperties;
+import com.example.service1.service.DownstreamErrorDecoder;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of service2 error bodies in service1. {@code streamingDecode} is the production
+ * path; {@code objectMapperBaseline} repeats the previous approach of decoding the body to a
+ * String and binding it to a record, for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DownstreamErrorParsingBenchmark {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BaselineErrorResponse(BaselineErrorDetails error) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BaselineErrorDetails(String message) {}
+
+    @Param({"typical", "large", "malformed"})
+    public String body;
+
+    private DownstreamErrorDecoder decoder;
+    private ObjectMapper objectMapper;
+    private byte[] responseBody;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkSupport.objectMapper();
+        decoder = new DownstreamErrorDecoder(objectMapper, new Service2ClientProperties());
+        String text = switch (body) {
+            case "typical" -> BenchmarkSupport.VALIDATION_ERROR_BODY;
+            case "large" -> BenchmarkSupport.largeErrorBody(2_000);
+            case "malformed" -> "<html><body>502 Bad Gateway</body></html>";
+            default -> throw new IllegalArgumentException(body);
+        };
+        responseBody = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public DownstreamErrorDecoder.DownstreamError streamingDecode() {
+        return decoder.decode(responseBody);
+    }
+
+    @Benchmark
+    public String objectMapperBaseline() {
+        try {
+            return objectMapper.readValue(new String(responseBody, StandardCharsets.UTF_8), BaselineErrorResponse.class)
+                    .error().message();
+        } catch (Exception e) {
+            return "Unknown error from downstream service";
+        }
+    }
+}
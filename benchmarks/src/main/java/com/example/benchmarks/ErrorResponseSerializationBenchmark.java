@@ -0,0 +1,70 @@
+package com.example.benchmarks;
+
+import com.example.errorcontract.dto.ErrorResponse;
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.example.errorcontract.exception.ErrorResponseTemplates;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producing the error JSON with and without a {@code details} map: {@code serialize} builds an
+ * {@code ErrorResponse} and runs it through Jackson, {@code template} renders the pre-encoded
+ * template the exception handlers use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseSerializationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean withDetails;
+
+    private ObjectWriter writer;
+    private ErrorResponseTemplates templates;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        writer = BenchmarkSupport.objectMapper().writerFor(ErrorResponse.class);
+        templates = new ErrorResponseTemplates(BenchmarkSupport.objectMapper());
+        out = new ByteArrayOutputStream(512);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        ErrorResponse response;
+        if (withDetails) {
+            Map<String, Object> details = new HashMap<>();
+            details.put("field", "email");
+            details.put("reason", "Email must contain @ symbol");
+            response = new ErrorResponse("VALIDATION_ERROR", "Invalid email format",
+                    "5012b932-5c08-442c-a80d-147904786ef8", "/api/v1/validation-error", details);
+        } else {
+            response = new ErrorResponse("BUSINESS_LOGIC_ERROR", "Account balance insufficient for this operation",
+                    "5012b932-5c08-442c-a80d-147904786ef8", "/api/v1/business-error");
+        }
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int template() throws IOException {
+        ErrorResponseTemplate template = withDetails
+                ? templates.get("VALIDATION_ERROR", "Invalid email format",
+                        "field", "email", "reason", "Email must contain @ symbol")
+                : templates.get("BUSINESS_LOGIC_ERROR", "Account balance insufficient for this operation");
+        // Reused stream stands in for the servlet response buffer
+        out.reset();
+        template.render("5012b932-5c08-442c-a80d-147904786ef8", "/api/v1/validation-error").writeTo(out);
+        return out.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.benchmarks;
+
+import com.example.errorcontract.exception.CustomExceptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating a domain exception with and without stack trace capture. The exception is
+ * created below {@code depth} extra frames to approximate the Tomcat and Spring MVC stack it
+ * is normally thrown from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionConstructionBenchmark {
+
+    @Param({"true", "false"})
+    public boolean captureStackTraces;
+
+    @Param({"0", "120"})
+    public int depth;
+
+    @Setup
+    public void setUp() {
+        CustomExceptions.setCaptureStackTraces(captureStackTraces);
+    }
+
+    @TearDown
+    public void tearDown() {
+        CustomExceptions.setCaptureStackTraces(true);
+    }
+
+    @Benchmark
+    public RuntimeException validationException() {
+        return createAt(depth);
+    }
+
+    @Benchmark
+    public RuntimeException genericException() {
+        return genericAt(depth);
+    }
+
+    private static RuntimeException createAt(int remaining) {
+        if (remaining > 0) {
+            return createAt(remaining - 1);
+        }
+        return new CustomExceptions.ValidationException(
+                "Invalid email format", "email", "Email must contain @ symbol");
+    }
+
+    private static RuntimeException genericAt(int remaining) {
+        if (remaining > 0) {
+            return genericAt(remaining - 1);
+        }
+        return new RuntimeException("Unexpected database connection failure");
+    }
+}
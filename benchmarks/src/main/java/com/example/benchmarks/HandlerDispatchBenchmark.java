@@ -0,0 +1,123 @@
+package com.example.benchmarks;
+
+import com.example.errorcontract.exception.ErrorResponseTemplates;
+import com.example.errorcontract.logging.ErrorLogSampler;
+import com.example.errorcontract.metrics.ErrorMetrics;
+import com.example.errorcontract.metrics.RecentErrors;
+import com.example.errorcontract.web.ErrorResponseTemplateConverter;
+import com.example.service1.controller.ProxyController;
+import com.example.service2.controller.ErrorDemoController;
+import com.example.service2.service.ErrorDemoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Full Spring MVC dispatch of an erroring request through the controller and the
+ * {@code GlobalExceptionHandler}, including JSON rendering of the {@code ErrorResponse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandlerDispatchBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service2State {
+
+        @Param({"/api/v1/success", "/api/v1/validation-error", "/api/v1/not-found", "/api/v1/internal-error"})
+        public String endpoint;
+
+        private static final Map<String, Integer> EXPECTED_STATUS = Map.of(
+                "/api/v1/success", 200,
+                "/api/v1/validation-error", 400,
+                "/api/v1/not-found", 404,
+                "/api/v1/internal-error", 500);
+
+        MockMvc mockMvc;
+
+        @Setup
+        public void setUp() throws Exception {
+            ObjectMapper objectMapper = BenchmarkSupport.objectMapper();
+            var controller = new ErrorDemoController();
+            ReflectionTestUtils.setField(controller, "errorDemoService", new ErrorDemoService());
+            var handler = new com.example.service2.exception.GlobalExceptionHandler();
+            ReflectionTestUtils.setField(handler, "templates", new ErrorResponseTemplates(objectMapper));
+            ReflectionTestUtils.setField(handler, "errorMetrics", new ErrorMetrics(new SimpleMeterRegistry()));
+            ReflectionTestUtils.setField(handler, "errorLogSampler", new ErrorLogSampler(Duration.ofSeconds(10)));
+            ReflectionTestUtils.setField(handler, "recentErrors", new RecentErrors(1024));
+            mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                    .setControllerAdvice(handler)
+                    .setMessageConverters(
+                            new ErrorResponseTemplateConverter(),
+                            new MappingJackson2HttpMessageConverter(objectMapper))
+                    .build();
+            checkStatus(mockMvc, endpoint, EXPECTED_STATUS.get(endpoint));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Service1State {
+
+        @Param({"/api/v1/local-validation-error", "/api/v1/local-business-error"})
+        public String endpoint;
+
+        private static final Map<String, Integer> EXPECTED_STATUS = Map.of(
+                "/api/v1/local-validation-error", 400,
+                "/api/v1/local-business-error", 422);
+
+        MockMvc mockMvc;
+
+        @Setup
+        public void setUp() throws Exception {
+            ObjectMapper objectMapper = BenchmarkSupport.objectMapper();
+            var handler = new com.example.service1.exception.GlobalExceptionHandler();
+            ReflectionTestUtils.setField(handler, "templates", new ErrorResponseTemplates(objectMapper));
+            ReflectionTestUtils.setField(handler, "errorMetrics", new ErrorMetrics(new SimpleMeterRegistry()));
+            ReflectionTestUtils.setField(handler, "errorLogSampler", new ErrorLogSampler(Duration.ofSeconds(10)));
+            ReflectionTestUtils.setField(handler, "recentErrors", new RecentErrors(1024));
+            mockMvc = MockMvcBuilders.standaloneSetup(new ProxyController())
+                    .setControllerAdvice(handler)
+                    .setMessageConverters(
+                            new ErrorResponseTemplateConverter(),
+                            new MappingJackson2HttpMessageConverter(objectMapper))
+                    .build();
+            checkStatus(mockMvc, endpoint, EXPECTED_STATUS.get(endpoint));
+        }
+    }
+
+    /**
+     * Fails the trial when a param is not answered as intended, e.g. because a collaborator is
+     * missing and every request falls through to the 500 path.
+     */
+    static void checkStatus(MockMvc mockMvc, String endpoint, int expectedStatus) throws Exception {
+        int status = mockMvc.perform(get(endpoint).header("X-Request-ID", "bench-request"))
+                .andReturn().getResponse().getStatus();
+        if (status != expectedStatus) {
+            throw new IllegalStateException(endpoint + " answered " + status + ", expected " + expectedStatus);
+        }
+    }
+
+    @Benchmark
+    public byte[] service2(Service2State state) throws Exception {
+        return state.mockMvc.perform(get(state.endpoint).header("X-Request-ID", "bench-request"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] service1Local(Service1State state) throws Exception {
+        return state.mockMvc.perform(get(state.endpoint).header("X-Request-ID", "bench-request"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.benchmarks;
+
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.service1.dto.OrderResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Success bodies as generic maps vs. typed records, with and without Blackbird: {@code encode*}
+ * writes a {@code /process-order} response, {@code decode*} reads a 50-item
+ * {@code /validate-users} batch as service1 does. The {@code *Cached} variants use an
+ * {@link ObjectWriter} or {@link ObjectReader} resolved once for the type. Run with
+ * {@code -prof gc} for the allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypedPayloadBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    @Param({"false", "true"})
+    public boolean blackbird;
+
+    private ObjectMapper mapper;
+    private Map<String, Object> orderMap;
+    private OrderResponse orderRecord;
+    private ObjectWriter orderWriter;
+    private byte[] batch;
+    private ObjectReader batchReader;
+
+    /**
+     * Same shape as service1's view of a {@code /validate-users} response.
+     */
+    public record ValidationBatch(List<ValidationItem> results) {
+    }
+
+    public record ValidationItem(int status, UserValidationResult result) {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = BenchmarkSupport.objectMapper();
+        if (blackbird) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+
+        UserValidationResult validation = new UserValidationResult("User validation successful", "user@example.com", "User");
+        orderRecord = new OrderResponse("Order processed successfully", "ORD-01JDB9WBW0000SS2XDCMQ1JG6T", validation);
+        orderMap = Map.of(
+                "message", orderRecord.message(),
+                "orderId", orderRecord.orderId(),
+                "userValidation", Map.of("message", validation.message(), "email", validation.email(), "name", validation.name()));
+        orderWriter = mapper.writerFor(OrderResponse.class);
+
+        batch = mapper.writeValueAsBytes(validationBatch(50));
+        batchReader = mapper.readerFor(ValidationBatch.class);
+    }
+
+    @Benchmark
+    public byte[] encodeMap() throws IOException {
+        return mapper.writeValueAsBytes(orderMap);
+    }
+
+    @Benchmark
+    public byte[] encodeRecord() throws IOException {
+        return mapper.writeValueAsBytes(orderRecord);
+    }
+
+    @Benchmark
+    public byte[] encodeRecordCached() throws IOException {
+        return orderWriter.writeValueAsBytes(orderRecord);
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeMap() throws IOException {
+        return mapper.readValue(batch, MAP_TYPE);
+    }
+
+    @Benchmark
+    public ValidationBatch decodeRecord() throws IOException {
+        return mapper.readValue(batch, ValidationBatch.class);
+    }
+
+    @Benchmark
+    public ValidationBatch decodeRecordCached() throws IOException {
+        return batchReader.readValue(batch);
+    }
+
+    private static Map<String, Object> validationBatch(int size) {
+        List<Map<String, Object>> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("status", 200);
+            item.put("result", new UserValidationResult("User validation successful", "user" + i + "@example.com", "User " + i));
+            results.add(item);
+        }
+        return Map.of("results", results);
+    }
+}
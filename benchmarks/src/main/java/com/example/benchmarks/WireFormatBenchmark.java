@@ -0,0 +1,142 @@
+package com.example.benchmarks;
+
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.example.errorcontract.exception.ErrorResponseTemplates;
+import com.example.errorcontract.web.WireFormat;
+import com.example.service1.config.Service2ClientProperties;
+import com.example.service1.service.DownstreamErrorDecoder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bodies of the service1 → service2 hop in each wire format: {@code encode} and {@code decode}
+ * are the service2 and service1 side of a success or {@code /validate-users} batch body,
+ * {@code encodeError} and {@code decodeError} the error template and streaming error decoder.
+ * The {@code gzip} variants add what compression costs on top. Body sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public WireFormat format;
+
+    @Param({"success", "batch"})
+    public String payload;
+
+    private ObjectMapper mapper;
+    private Map<String, Object> value;
+    private byte[] encoded;
+    private byte[] gzipped;
+    private ErrorResponseTemplate errorTemplate;
+    private byte[] encodedError;
+    private DownstreamErrorDecoder errorDecoder;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkSupport.objectMapper();
+        mapper = format.mapper(objectMapper);
+        value = switch (payload) {
+            case "success" -> Map.of("message", "User validation successful", "email", "user@example.com", "name", "User");
+            case "batch" -> validationBatch(50);
+            default -> throw new IllegalArgumentException(payload);
+        };
+        out = new ByteArrayOutputStream(8192);
+        encoded = mapper.writeValueAsBytes(value);
+        gzipped = gzip(encoded);
+
+        errorTemplate = new ErrorResponseTemplates(objectMapper).get("VALIDATION_ERROR", "Invalid email format",
+                "field", "email", "reason", "Email must contain @ symbol");
+        errorDecoder = new DownstreamErrorDecoder(objectMapper, new Service2ClientProperties());
+        encodeError();
+        encodedError = out.toByteArray();
+
+        System.out.printf("%n%s %s: %d bytes, %d gzipped; error body %d bytes%n",
+                format, payload, encoded.length, gzipped.length, encodedError.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Map<String, Object> decode() throws IOException {
+        return mapper.readValue(encoded, MAP_TYPE);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(value));
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeGzip() throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return mapper.readValue(in, MAP_TYPE);
+        }
+    }
+
+    @Benchmark
+    public int encodeError() throws IOException {
+        // Same split as ErrorResponseTemplateConverter: pre-encoded bytes for JSON, a generator otherwise
+        out.reset();
+        ErrorResponseTemplate.Rendered rendered = errorTemplate.render("01JDB9WBW0000SS2XDCMQ1JG6T", "/api/v1/validate-user");
+        if (format == WireFormat.JSON) {
+            rendered.writeTo(out);
+        } else {
+            try (JsonGenerator generator = mapper.createGenerator(out)) {
+                rendered.writeTo(generator);
+            }
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public DownstreamErrorDecoder.DownstreamError decodeError() {
+        return errorDecoder.decode(encodedError, format.mediaType());
+    }
+
+    private static Map<String, Object> validationBatch(int size) {
+        List<Map<String, Object>> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("message", "User validation successful");
+            result.put("email", "user" + i + "@example.com");
+            result.put("name", "User " + i);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("status", 200);
+            item.put("result", result);
+            results.add(item);
+        }
+        return Map.of("results", results);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
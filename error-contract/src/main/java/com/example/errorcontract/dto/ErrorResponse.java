@@ -1,4 +1,4 @@
-package com.example.service1.dto;
+package com.example.errorcontract.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
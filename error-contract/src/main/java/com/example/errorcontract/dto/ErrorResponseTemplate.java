@@ -0,0 +1,127 @@
+package com.example.errorcontract.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Pre-encoded JSON for one error shape (code, message and details), producing the same document
+ * as serializing an {@link ErrorResponse}:
+ * <pre>
+ * {"error":{"code":…,"message":…,"timestamp":…,"requestId":…,"path":…,"details":…}}
+ * </pre>
+ * Everything except {@code timestamp}, {@code requestId} and {@code path} is encoded once when
+ * the template is built; {@link Rendered} carries the per-request values and writes the whole
+ * document as a handful of byte segments. Binary formats are written field by field through a
+ * {@link JsonGenerator} instead.
+ */
+public final class ErrorResponseTemplate {
+
+    private static final byte[] REQUEST_ID_FIELD = "\",\"requestId\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PATH_FIELD = "\",\"path\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final String code;
+    private final String message;
+    private final Map<String, Object> details;
+    private final byte[] head;
+    private final byte[] tail;
+
+    /**
+     * @param code        error code
+     * @param message     error message
+     * @param details     the {@code details} member, {@code null} for none
+     * @param detailsJson {@code details} pre-encoded as JSON, {@code null} for none
+     */
+    public ErrorResponseTemplate(String code, String message, Map<String, Object> details, byte[] detailsJson) {
+        this.code = code;
+        this.message = message;
+        this.details = details;
+        String headJson = "{\"error\":{\"code\":" + jsonString(code)
+                + ",\"message\":" + jsonString(message)
+                + ",\"timestamp\":\"";
+        this.head = headJson.getBytes(StandardCharsets.UTF_8);
+        byte[] detailsBytes = detailsJson != null ? detailsJson : "null".getBytes(StandardCharsets.US_ASCII);
+        byte[] prefix = "\",\"details\":".getBytes(StandardCharsets.US_ASCII);
+        this.tail = new byte[prefix.length + detailsBytes.length + 2];
+        System.arraycopy(prefix, 0, tail, 0, prefix.length);
+        System.arraycopy(detailsBytes, 0, tail, prefix.length, detailsBytes.length);
+        tail[tail.length - 2] = '}';
+        tail[tail.length - 1] = '}';
+    }
+
+    public Rendered render(String requestId, String path) {
+        return new Rendered(this, LocalDateTime.now(), requestId, path);
+    }
+
+    private static String jsonString(String value) {
+        return value == null ? "null" : "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+
+    /**
+     * A template bound to the values of one request.
+     */
+    public static final class Rendered {
+        private final ErrorResponseTemplate template;
+        // Same format Jackson's LocalDateTimeSerializer uses for the ErrorResponse timestamp
+        private final String timestamp;
+        private final String requestId;
+        private final String path;
+        private byte[] quotedRequestId;
+        private byte[] quotedPath;
+
+        private Rendered(ErrorResponseTemplate template, LocalDateTime timestamp, String requestId, String path) {
+            this.template = template;
+            this.timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp);
+            this.requestId = requestId;
+            this.path = path;
+        }
+
+        public int contentLength() {
+            quote();
+            return template.head.length + timestamp.length() + REQUEST_ID_FIELD.length + quotedRequestId.length
+                    + PATH_FIELD.length + quotedPath.length + template.tail.length;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            quote();
+            out.write(template.head);
+            out.write(timestamp.getBytes(StandardCharsets.US_ASCII));
+            out.write(REQUEST_ID_FIELD);
+            out.write(quotedRequestId);
+            out.write(PATH_FIELD);
+            out.write(quotedPath);
+            out.write(template.tail);
+        }
+
+        /**
+         * Writes the same document through {@code generator}, for formats other than JSON. The
+         * generator needs a codec if the template has details.
+         */
+        public void writeTo(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("error");
+            generator.writeStringField("code", template.code);
+            generator.writeStringField("message", template.message);
+            generator.writeStringField("timestamp", timestamp);
+            generator.writeStringField("requestId", requestId);
+            generator.writeStringField("path", path);
+            generator.writeObjectField("details", template.details);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        // Only JSON output needs the quoted form, and contentLength and writeTo both use it
+        private void quote() {
+            if (quotedRequestId == null) {
+                quotedRequestId = JsonStringEncoder.getInstance().quoteAsUTF8(requestId);
+                quotedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.errorcontract.dto;
+
+/**
+ * Body of a successful service2 call that carries no data of its own.
+ */
+public record SuccessResponse(String message, String service) {
+}
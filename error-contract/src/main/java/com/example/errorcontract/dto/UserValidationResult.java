@@ -0,0 +1,7 @@
+package com.example.errorcontract.dto;
+
+/**
+ * Body of a successful user validation, sent by service2 and cached and relayed by service1.
+ */
+public record UserValidationResult(String message, String email, String name) {
+}
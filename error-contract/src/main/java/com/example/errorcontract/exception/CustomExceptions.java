@@ -0,0 +1,158 @@
+package com.example.errorcontract.exception;
+
+public class CustomExceptions {
+
+    private CustomExceptions() {
+        // Private constructor to prevent instantiation
+    }
+
+    private static volatile boolean captureStackTraces = true;
+
+    /**
+     * Controls whether domain exceptions record a stack trace. These exceptions are thrown on
+     * expected, high-frequency paths and always translated by the exception handler, so the
+     * trace is rarely read; turning capture off removes the {@code fillInStackTrace} walk from
+     * every throw. Unexpected exceptions are not affected and keep their full traces.
+     * <p>
+     * The flag is static and therefore JVM-wide: every application context in the process shares
+     * it and the last one to call this wins. Processes hosting more than one service, such as the
+     * in-process load test, must set it once for all of them.
+     */
+    public static void setCaptureStackTraces(boolean capture) {
+        captureStackTraces = capture;
+    }
+
+    public static boolean isCaptureStackTraces() {
+        return captureStackTraces;
+    }
+
+    /**
+     * Base class for expected, handled errors. In stackless mode instances carry neither a stack
+     * trace nor suppressed exceptions, which also makes them safe to cache and rethrow.
+     */
+    public abstract static class DomainException extends RuntimeException {
+        protected DomainException(String message) {
+            super(message, null, captureStackTraces, captureStackTraces);
+        }
+    }
+
+    public static class ValidationException extends DomainException {
+        private final String field;
+        private final String reason;
+
+        public ValidationException(String message, String field, String reason) {
+            super(message);
+            this.field = field;
+            this.reason = reason;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    public static class ResourceNotFoundException extends DomainException {
+        private final String resourceType;
+        private final String resourceId;
+
+        public ResourceNotFoundException(String message, String resourceType, String resourceId) {
+            super(message);
+            this.resourceType = resourceType;
+            this.resourceId = resourceId;
+        }
+
+        public String getResourceType() {
+            return resourceType;
+        }
+
+        public String getResourceId() {
+            return resourceId;
+        }
+    }
+
+    public static class BusinessLogicException extends DomainException {
+        public BusinessLogicException(String message) {
+            super(message);
+        }
+    }
+
+    public static class ExternalServiceException extends DomainException {
+        private final String serviceName;
+
+        public ExternalServiceException(String message, String serviceName) {
+            super(message);
+            this.serviceName = serviceName;
+        }
+
+        public String getServiceName() {
+            return serviceName;
+        }
+    }
+
+    /**
+     * Thrown instead of starting work whose request deadline has already passed: nobody is
+     * waiting for the answer any more.
+     */
+    public static class DeadlineExceededException extends DomainException {
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    public static class DownstreamServiceException extends DomainException {
+        private final String serviceName;
+        private final int statusCode;
+        private final String downstreamError;
+        private final String errorCode;
+        private final String downstreamErrorCode;
+        private final String downstreamRequestId;
+
+        public DownstreamServiceException(String message, String serviceName, int statusCode, String downstreamError) {
+            this(message, serviceName, statusCode, downstreamError, ErrorCode.DOWNSTREAM_SERVICE_ERROR.code());
+        }
+
+        public DownstreamServiceException(String message, String serviceName, int statusCode, String downstreamError,
+                                          String errorCode) {
+            this(message, serviceName, statusCode, downstreamError, errorCode, null, null);
+        }
+
+        public DownstreamServiceException(String message, String serviceName, int statusCode, String downstreamError,
+                                          String errorCode, String downstreamErrorCode, String downstreamRequestId) {
+            super(message);
+            this.serviceName = serviceName;
+            this.statusCode = statusCode;
+            this.downstreamError = downstreamError;
+            this.errorCode = errorCode;
+            this.downstreamErrorCode = downstreamErrorCode;
+            this.downstreamRequestId = downstreamRequestId;
+        }
+
+        public String getServiceName() {
+            return serviceName;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getDownstreamError() {
+            return downstreamError;
+        }
+
+        public String getErrorCode() {
+            return errorCode;
+        }
+
+        public String getDownstreamErrorCode() {
+            return downstreamErrorCode;
+        }
+
+        public String getDownstreamRequestId() {
+            return downstreamRequestId;
+        }
+    }
+}
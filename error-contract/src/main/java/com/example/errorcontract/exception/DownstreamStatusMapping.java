@@ -0,0 +1,63 @@
+package com.example.errorcontract.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Classification of downstream HTTP statuses, shared by the exception handler (to pick the
+ * upstream status) and the client (to decide whether a failed call may be retried). Both
+ * answers are precomputed for every status code, so lookups are a single array read.
+ */
+public final class DownstreamStatusMapping {
+
+    private static final int MAX_STATUS = 599;
+
+    private static final HttpStatus[] UPSTREAM = new HttpStatus[MAX_STATUS + 1];
+    private static final boolean[] RETRYABLE = new boolean[MAX_STATUS + 1];
+
+    static {
+        for (int status = 0; status <= MAX_STATUS; status++) {
+            UPSTREAM[status] = computeUpstream(status);
+            // 4xx answers are final: service2 rejected the request itself
+            RETRYABLE[status] = status / 100 != 4 && UPSTREAM[status].is5xxServerError();
+        }
+    }
+
+    private DownstreamStatusMapping() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static HttpStatus toUpstream(int downstreamStatus) {
+        return inRange(downstreamStatus) ? UPSTREAM[downstreamStatus] : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * A downstream failure is retryable only if it surfaces upstream as a server error and
+     * service2 did not reject the request itself.
+     */
+    public static boolean isRetryable(int downstreamStatus) {
+        return !inRange(downstreamStatus) || RETRYABLE[downstreamStatus];
+    }
+
+    private static HttpStatus computeUpstream(int downstreamStatus) {
+        if (downstreamStatus == ErrorCode.VALIDATION_ERROR.status().value()
+                || downstreamStatus == ErrorCode.BUSINESS_LOGIC_ERROR.status().value()) {
+            // The caller's input was rejected downstream
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (downstreamStatus == ErrorCode.RESOURCE_NOT_FOUND.status().value()) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (downstreamStatus == ErrorCode.EXTERNAL_SERVICE_ERROR.status().value()) {
+            return HttpStatus.BAD_GATEWAY;
+        }
+        if (downstreamStatus == ErrorCode.DEADLINE_EXCEEDED.status().value()) {
+            // The caller's budget ran out downstream
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static boolean inRange(int status) {
+        return status >= 0 && status <= MAX_STATUS;
+    }
+}
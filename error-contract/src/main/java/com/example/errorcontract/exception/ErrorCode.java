@@ -0,0 +1,69 @@
+package com.example.errorcontract.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Error codes of the shared error contract and the HTTP status each one is answered with.
+ * {@code DOWNSTREAM_SERVICE_ERROR} has no status of its own: it follows the downstream status
+ * through {@link DownstreamStatusMapping}.
+ */
+public enum ErrorCode {
+
+    VALIDATION_ERROR(HttpStatus.BAD_REQUEST),
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND),
+    BUSINESS_LOGIC_ERROR(HttpStatus.UNPROCESSABLE_ENTITY),
+    EXTERNAL_SERVICE_ERROR(HttpStatus.BAD_GATEWAY),
+    DOWNSTREAM_SERVICE_ERROR(null),
+    CIRCUIT_OPEN(HttpStatus.SERVICE_UNAVAILABLE),
+    CONCURRENCY_LIMIT_EXCEEDED(HttpStatus.SERVICE_UNAVAILABLE),
+    DEADLINE_EXCEEDED(HttpStatus.GATEWAY_TIMEOUT),
+    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private static final Map<String, ErrorCode> BY_CODE = new HashMap<>();
+
+    static {
+        for (ErrorCode errorCode : values()) {
+            BY_CODE.put(errorCode.code(), errorCode);
+        }
+    }
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    public String code() {
+        return name();
+    }
+
+    public boolean followsDownstreamStatus() {
+        return status == null;
+    }
+
+    /**
+     * Status for an error with this code when no downstream status is involved; codes that follow
+     * the downstream status fall back to 500.
+     */
+    public HttpStatus status() {
+        return status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Status for an error with this code; {@code downstreamStatus} is only consulted for codes
+     * that follow the downstream status.
+     */
+    public HttpStatus status(int downstreamStatus) {
+        return status != null ? status : DownstreamStatusMapping.toUpstream(downstreamStatus);
+    }
+
+    /**
+     * @return the registered code, or {@code null} for codes outside the contract
+     */
+    public static ErrorCode fromCode(String code) {
+        return code != null ? BY_CODE.get(code) : null;
+    }
+}
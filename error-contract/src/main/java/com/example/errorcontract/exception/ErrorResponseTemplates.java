@@ -0,0 +1,78 @@
+package com.example.errorcontract.exception;
+
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of {@link ErrorResponseTemplate}s keyed by error shape. Most errors are thrown with
+ * constant code, message and details, so after the first occurrence a handler only pays for the
+ * per-request fields. The cache is bounded: once full, new shapes are encoded per request
+ * instead of being retained, so errors with variable messages cannot grow it without limit.
+ */
+public class ErrorResponseTemplates {
+
+    private static final int MAX_TEMPLATES = 1024;
+
+    private final ConcurrentHashMap<Key, ErrorResponseTemplate> templates = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+
+    public ErrorResponseTemplates(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ErrorResponseTemplate get(String code, String message) {
+        return lookup(new Key(code, message, null, null, null, null));
+    }
+
+    public ErrorResponseTemplate get(String code, String message, String detailKey, Object detailValue) {
+        return lookup(new Key(code, message, detailKey, detailValue, null, null));
+    }
+
+    public ErrorResponseTemplate get(String code, String message,
+                                     String detailKey1, Object detailValue1,
+                                     String detailKey2, Object detailValue2) {
+        return lookup(new Key(code, message, detailKey1, detailValue1, detailKey2, detailValue2));
+    }
+
+    private ErrorResponseTemplate lookup(Key key) {
+        ErrorResponseTemplate template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = build(key);
+        if (templates.size() < MAX_TEMPLATES) {
+            templates.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    private ErrorResponseTemplate build(Key key) {
+        Map<String, Object> details = null;
+        byte[] detailsJson = null;
+        if (key.detailKey1 != null) {
+            details = new LinkedHashMap<>();
+            details.put(key.detailKey1, key.detailValue1);
+            if (key.detailKey2 != null) {
+                details.put(key.detailKey2, key.detailValue2);
+            }
+            details = Collections.unmodifiableMap(details);
+            try {
+                detailsJson = objectMapper.writeValueAsBytes(details);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not encode error details", e);
+            }
+        }
+        return new ErrorResponseTemplate(key.code, key.message, details, detailsJson);
+    }
+
+    private record Key(String code, String message,
+                       String detailKey1, Object detailValue1,
+                       String detailKey2, Object detailValue2) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.errorcontract.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates error logs that carry a stack trace. Exceptions are fingerprinted by logger,
+ * exception type, cause type and top stack frames; the first occurrence of a fingerprint is
+ * logged in full, later ones are only counted and reported as a one-line "N more like this"
+ * summary once per interval. A fingerprint that stays quiet for a whole interval is forgotten,
+ * so the next occurrence is logged in full again.
+ */
+public class ErrorLogSampler implements AutoCloseable {
+
+    private static final int FINGERPRINT_FRAMES = 5;
+    private static final int MAX_FINGERPRINTS = 1024;
+
+    private final ConcurrentHashMap<String, Occurrences> occurrences = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final long intervalSeconds;
+
+    private static final class Occurrences {
+        final Logger logger;
+        final String type;
+        final String message;
+        final LongAdder suppressed = new LongAdder();
+
+        Occurrences(Logger logger, Throwable ex) {
+            this.logger = logger;
+            this.type = ex.getClass().getName();
+            this.message = ex.getMessage();
+        }
+    }
+
+    public ErrorLogSampler(Duration summaryInterval) {
+        this.intervalSeconds = Math.max(1, summaryInterval.toSeconds());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "error-log-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::flush, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Logs {@code format} at ERROR with {@code ex} as the stack trace, unless an exception with the
+     * same fingerprint was already logged and has not been quiet since.
+     */
+    public void error(Logger logger, Throwable ex, String format, Object... args) {
+        String fingerprint = fingerprint(logger, ex);
+        Occurrences existing = occurrences.get(fingerprint);
+        if (existing == null) {
+            if (occurrences.size() >= MAX_FINGERPRINTS) {
+                // Too many distinct failures to track; log them as they come
+                logger.error(format, withThrowable(args, ex));
+                return;
+            }
+            existing = occurrences.putIfAbsent(fingerprint, new Occurrences(logger, ex));
+            if (existing == null) {
+                logger.error(format, withThrowable(args, ex));
+                return;
+            }
+        }
+        existing.suppressed.increment();
+    }
+
+    void flush() {
+        occurrences.forEach((fingerprint, entry) -> {
+            long count = entry.suppressed.sumThenReset();
+            if (count == 0 && occurrences.remove(fingerprint, entry)) {
+                // Occurrences that raced with the removal still get reported
+                count = entry.suppressed.sum();
+            }
+            if (count > 0) {
+                entry.logger.error("{} more like this in the last {}s: {}: {}",
+                        count, intervalSeconds, entry.type, entry.message);
+            }
+        });
+    }
+
+    private static String fingerprint(Logger logger, Throwable ex) {
+        StringBuilder fingerprint = new StringBuilder(256)
+                .append(logger.getName()).append('|').append(ex.getClass().getName());
+        if (ex.getCause() != null) {
+            fingerprint.append('|').append(ex.getCause().getClass().getName());
+        }
+        StackTraceElement[] frames = ex.getStackTrace();
+        if (frames.length == 0) {
+            // Stackless exceptions are told apart by message instead
+            fingerprint.append('|').append(ex.getMessage());
+        }
+        int used = 0;
+        for (int i = 0; i < frames.length && used < FINGERPRINT_FRAMES; i++) {
+            if (isReflectionFrame(frames[i])) {
+                continue;
+            }
+            fingerprint.append('|').append(frames[i].getClassName())
+                    .append('.').append(frames[i].getMethodName())
+                    .append(':').append(frames[i].getLineNumber());
+            used++;
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Reflective call frames change when the JVM swaps native method accessors for generated
+     * ones, so they would split one failure into several fingerprints.
+     */
+    private static boolean isReflectionFrame(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.startsWith("jdk.internal.reflect.")
+                || className.startsWith("java.lang.reflect.")
+                || className.startsWith("java.lang.invoke.")
+                || className.startsWith("sun.reflect.");
+    }
+
+    private static Object[] withThrowable(Object[] args, Throwable ex) {
+        Object[] withThrowable = Arrays.copyOf(args, args.length + 1);
+        withThrowable[args.length] = ex;
+        return withThrowable;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flush();
+    }
+}
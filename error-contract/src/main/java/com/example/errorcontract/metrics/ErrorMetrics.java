@@ -0,0 +1,59 @@
+package com.example.errorcontract.metrics;
+
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.web.PathTemplates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts error responses by error code, HTTP status and request path template
+ * ({@code http.server.errors}). Each combination is registered once and cached, so recording an
+ * error is a map lookup and an increment: no tag strings are built and no meter is looked up in
+ * the registry on the request path.
+ */
+public class ErrorMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    private record Key(String code, int status, String uri) {
+    }
+
+    public ErrorMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void increment(ErrorCode errorCode, HttpServletRequest request) {
+        increment(errorCode.code(), errorCode.status(), request);
+    }
+
+    public void increment(String code, HttpStatusCode status, HttpServletRequest request) {
+        increment(code, status, PathTemplates.of(request));
+    }
+
+    /**
+     * @param pathTemplate the request's mapping pattern, as resolved by {@link PathTemplates}
+     */
+    public void increment(String code, HttpStatusCode status, String pathTemplate) {
+        Key key = new Key(code, status.value(), pathTemplate);
+
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, this::register);
+        }
+        counter.increment();
+    }
+
+    private Counter register(Key key) {
+        return Counter.builder("http.server.errors")
+                .description("Error responses by error code, status and path template")
+                .tag("code", String.valueOf(key.code()))
+                .tag("status", Integer.toString(key.status()))
+                .tag("uri", key.uri())
+                .register(registry);
+    }
+}
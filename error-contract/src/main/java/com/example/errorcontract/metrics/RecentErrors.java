@@ -0,0 +1,123 @@
+package com.example.errorcontract.metrics;
+
+import com.example.errorcontract.web.PathTemplates;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The most recent handled errors in a fixed-size ring, plus running counts per fingerprint
+ * (code, status and path template). Recording claims a slot with a single atomic increment and
+ * publishes an immutable entry into it, so writers never wait on each other or on readers; old
+ * entries are simply overwritten. Memory stays constant regardless of error volume.
+ */
+public class RecentErrors {
+
+    private static final int MAX_FINGERPRINTS = 512;
+    private static final Fingerprint OTHER = new Fingerprint("OTHER", 0, PathTemplates.UNKNOWN);
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Fingerprint, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /**
+     * @param sequence         position of the entry in the overall error stream
+     * @param timestamp        epoch milliseconds
+     * @param downstreamStatus status returned by the downstream service, or 0 if none was involved
+     */
+    public record Entry(long sequence, long timestamp, String code, int status, String path,
+                        String requestId, int downstreamStatus) {
+    }
+
+    public record Fingerprint(String code, int status, String pathTemplate) {
+    }
+
+    public record FingerprintCount(Fingerprint fingerprint, long count) {
+    }
+
+    /**
+     * @param capacity number of entries kept, rounded up to a power of two
+     */
+    public RecentErrors(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void record(String code, HttpStatusCode status, HttpServletRequest request, String requestId) {
+        record(code, status, request, requestId, 0);
+    }
+
+    public void record(String code, HttpStatusCode status, HttpServletRequest request, String requestId,
+                       int downstreamStatus) {
+        record(code, status, request.getRequestURI(), PathTemplates.of(request), requestId, downstreamStatus);
+    }
+
+    /**
+     * @param path         the request path
+     * @param pathTemplate its mapping pattern, as resolved by {@link PathTemplates}
+     */
+    public void record(String code, HttpStatusCode status, String path, String pathTemplate, String requestId,
+                       int downstreamStatus) {
+        long seq = sequence.getAndIncrement();
+        ring.lazySet((int) (seq & mask), new Entry(seq, System.currentTimeMillis(), code, status.value(),
+                path, requestId, downstreamStatus));
+
+        Fingerprint fingerprint = new Fingerprint(code, status.value(), pathTemplate);
+        LongAdder count = counts.get(fingerprint);
+        if (count == null) {
+            count = counts.size() < MAX_FINGERPRINTS
+                    ? counts.computeIfAbsent(fingerprint, key -> new LongAdder())
+                    : counts.computeIfAbsent(OTHER, key -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * Newest first. {@code null} filters match everything; {@code path} matches the request path.
+     */
+    public List<Entry> query(String code, String path, String requestId, int limit) {
+        List<Entry> matches = new ArrayList<>();
+        long newest = sequence.get() - 1;
+        long oldest = Math.max(0, newest - mask);
+        for (long seq = newest; seq >= oldest && matches.size() < limit; seq--) {
+            Entry entry = ring.get((int) (seq & mask));
+            // A slot may not be published yet or may already hold a newer entry
+            if (entry == null || entry.sequence() != seq) {
+                continue;
+            }
+            if ((code == null || code.equals(entry.code()))
+                    && (path == null || path.equals(entry.path()))
+                    && (requestId == null || requestId.equals(entry.requestId()))) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Counts since startup, most frequent first.
+     */
+    public List<FingerprintCount> fingerprints() {
+        List<FingerprintCount> result = new ArrayList<>(counts.size());
+        counts.forEach((fingerprint, count) -> result.add(new FingerprintCount(fingerprint, count.sum())));
+        result.sort(Comparator.comparingLong(FingerprintCount::count).reversed());
+        return result;
+    }
+
+    public long total() {
+        return sequence.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.errorcontract.metrics;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Serves {@link RecentErrors} at {@code /api/v1/internal/errors}. Not picked up by component
+ * scanning; each service declares it as a bean next to its {@code RecentErrors}, and it works on
+ * both the servlet and the WebFlux runtime.
+ */
+@RestController
+@RequestMapping("/api/v1/internal")
+public class RecentErrorsController {
+
+    private final RecentErrors recentErrors;
+
+    public RecentErrorsController(RecentErrors recentErrors) {
+        this.recentErrors = recentErrors;
+    }
+
+    /**
+     * Recent handled errors, newest first, optionally filtered by error code, request path or
+     * request ID, together with the error counts per fingerprint since startup.
+     */
+    @GetMapping("/errors")
+    public Map<String, Object> errors(@RequestParam(required = false) String code,
+                                      @RequestParam(required = false) String path,
+                                      @RequestParam(required = false) String requestId,
+                                      @RequestParam(defaultValue = "100") int limit) {
+        return Map.of(
+            "total", recentErrors.total(),
+            "capacity", recentErrors.capacity(),
+            "recent", recentErrors.query(code, path, requestId, Math.min(Math.max(limit, 0), recentErrors.capacity())),
+            "fingerprints", recentErrors.fingerprints()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.errorcontract.validation;
+
+import com.example.errorcontract.exception.CustomExceptions;
+
+/**
+ * The user rules service2 enforces on {@code /validate-user}. Callers can apply them locally to
+ * reject input that service2 would reject anyway, without a round trip.
+ */
+public final class UserValidationRules {
+
+    private UserValidationRules() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @throws CustomExceptions.ValidationException for the first rule the user violates
+     */
+    public static void validate(String email, String name) {
+        if (email == null || !email.contains("@")) {
+            throw new CustomExceptions.ValidationException(
+                "Invalid email format",
+                "email",
+                "Email must be a valid email address"
+            );
+        }
+        
+        if (name == null || name.trim().isEmpty()) {
+            throw new CustomExceptions.ValidationException(
+                "Name cannot be empty",
+                "name",
+                "Name is required"
+            );
+        }
+    }
+}
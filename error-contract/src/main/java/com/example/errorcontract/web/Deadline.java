@@ -0,0 +1,61 @@
+package com.example.errorcontract.web;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request must be answered, on the {@link System#nanoTime()} clock.
+ * Crosses process boundaries only as a remaining budget in milliseconds, so clock skew between
+ * hosts does not matter.
+ */
+public final class Deadline {
+
+    /**
+     * Longer budgets are cut to this, and negative ones to zero, so deadlines stay far enough apart
+     * on the wrapping {@code nanoTime} clock to be compared by subtraction.
+     */
+    public static final Duration MAX_BUDGET = Duration.ofDays(1);
+
+    private static final long MAX_BUDGET_MILLIS = MAX_BUDGET.toMillis();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        if (budget.isNegative()) {
+            budget = Duration.ZERO;
+        } else if (budget.compareTo(MAX_BUDGET) > 0) {
+            budget = MAX_BUDGET;
+        }
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public static Deadline afterMillis(long budgetMillis) {
+        long clamped = Math.min(Math.max(0, budgetMillis), MAX_BUDGET_MILLIS);
+        return new Deadline(System.nanoTime() + clamped * 1_000_000L);
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * @return the remaining budget rounded down to whole milliseconds, never negative
+     */
+    public long remainingMillis() {
+        return Math.max(0, remainingNanos() / 1_000_000L);
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * @return the earlier of this deadline and {@code other}
+     */
+    public Deadline min(Deadline other) {
+        return other == null || deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.errorcontract.web;
+
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes a rendered {@link ErrorResponseTemplate} straight into the response body stream. JSON
+ * is written from the pre-encoded template; when constructed with an {@link ObjectMapper}, Smile
+ * and CBOR are offered as well and written through a generator of that format.
+ */
+public class ErrorResponseTemplateConverter extends AbstractHttpMessageConverter<ErrorResponseTemplate.Rendered> {
+
+    private final Map<WireFormat, ObjectMapper> binaryMappers = new EnumMap<>(WireFormat.class);
+
+    public ErrorResponseTemplateConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    public ErrorResponseTemplateConverter(ObjectMapper objectMapper) {
+        super(WireFormat.JSON.mediaType(), WireFormat.SMILE.mediaType(), WireFormat.CBOR.mediaType());
+        binaryMappers.put(WireFormat.SMILE, WireFormat.SMILE.mapper(objectMapper));
+        binaryMappers.put(WireFormat.CBOR, WireFormat.CBOR.mapper(objectMapper));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ErrorResponseTemplate.Rendered.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ErrorResponseTemplate.Rendered readInternal(Class<? extends ErrorResponseTemplate.Rendered> clazz,
+                                                          HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Error templates are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ErrorResponseTemplate.Rendered rendered, MediaType contentType) {
+        return WireFormat.of(contentType) == WireFormat.JSON ? (long) rendered.contentLength() : null;
+    }
+
+    @Override
+    protected void writeInternal(ErrorResponseTemplate.Rendered rendered, HttpOutputMessage outputMessage)
+            throws IOException {
+        ObjectMapper binaryMapper = binaryMappers.get(WireFormat.of(outputMessage.getHeaders().getContentType()));
+        if (binaryMapper == null) {
+            rendered.writeTo(outputMessage.getBody());
+            return;
+        }
+        try (JsonGenerator generator = binaryMapper.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            rendered.writeTo(generator);
+        }
+    }
+}
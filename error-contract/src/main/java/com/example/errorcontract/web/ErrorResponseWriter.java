@@ -0,0 +1,79 @@
+package com.example.errorcontract.web;
+
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a rendered {@link ErrorResponseTemplate} as the response of a WebFlux exchange, where
+ * error handling happens outside any message writer: the reactive counterpart of
+ * {@link ErrorResponseTemplateConverter}. The format is the first one in the client's
+ * {@code Accept} that the services speak, JSON when there is none.
+ */
+public class ErrorResponseWriter {
+
+    private final Map<WireFormat, ObjectMapper> binaryMappers = new EnumMap<>(WireFormat.class);
+
+    public ErrorResponseWriter(ObjectMapper objectMapper) {
+        binaryMappers.put(WireFormat.SMILE, WireFormat.SMILE.mapper(objectMapper));
+        binaryMappers.put(WireFormat.CBOR, WireFormat.CBOR.mapper(objectMapper));
+    }
+
+    public Mono<Void> write(ServerWebExchange exchange, HttpStatusCode status, ErrorResponseTemplate.Rendered rendered) {
+        WireFormat format = negotiate(exchange.getRequest().getHeaders().getAccept());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(format.mediaType());
+
+        ObjectMapper binaryMapper = binaryMappers.get(format);
+        DataBuffer buffer;
+        if (binaryMapper == null) {
+            int contentLength = rendered.contentLength();
+            response.getHeaders().setContentLength(contentLength);
+            buffer = response.bufferFactory().allocateBuffer(contentLength);
+        } else {
+            buffer = response.bufferFactory().allocateBuffer(256);
+        }
+        try (OutputStream out = buffer.asOutputStream()) {
+            if (binaryMapper == null) {
+                rendered.writeTo(out);
+            } else {
+                try (JsonGenerator generator = binaryMapper.createGenerator(out)) {
+                    rendered.writeTo(generator);
+                }
+            }
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException("Could not encode error response", e);
+        }
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static WireFormat negotiate(List<MediaType> accept) {
+        for (MediaType mediaType : accept) {
+            // JSON first, so wildcards get JSON
+            if (mediaType.isCompatibleWith(WireFormat.JSON.mediaType())) {
+                return WireFormat.JSON;
+            }
+            WireFormat format = WireFormat.of(mediaType);
+            if (format != WireFormat.JSON) {
+                return format;
+            }
+        }
+        return WireFormat.JSON;
+    }
+}
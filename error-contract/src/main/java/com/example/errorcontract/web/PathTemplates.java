@@ -0,0 +1,37 @@
+package com.example.errorcontract.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * Resolves the request mapping pattern a request was dispatched to, e.g. {@code /api/v1/proxy/not-found},
+ * for use as a low-cardinality key.
+ */
+public final class PathTemplates {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private PathTemplates() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return the matched pattern (the same String instance on every request to an endpoint),
+     * or {@link #UNKNOWN} when the request was not mapped to a handler
+     */
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String template ? template : UNKNOWN;
+    }
+
+    /**
+     * WebFlux counterpart of {@link #of(HttpServletRequest)}; the pattern there is a parsed
+     * {@link PathPattern}, which keeps its source String.
+     */
+    public static String of(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(org.springframework.web.reactive.HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof PathPattern template ? template.getPatternString() : UNKNOWN;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.errorcontract.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.MDC;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Access to the request ID and deadline established by {@link RequestContextFilter}, or by
+ * {@link RequestContextWebFilter} on a reactive server. The request
+ * ID is the caller's {@code X-Request-ID} when it sent a usable one, otherwise a {@link RequestIds}
+ * value; the deadline comes from the caller's {@code X-Request-Budget-Ms} or the service default.
+ */
+public final class RequestContext {
+
+    public static final String HEADER = "X-Request-ID";
+
+    /**
+     * Remaining time budget of the request in milliseconds, as seen by the caller when it sent it.
+     */
+    public static final String BUDGET_HEADER = "X-Request-Budget-Ms";
+
+    public static final String MDC_KEY = "requestId";
+
+    static final String ATTRIBUTE = RequestContext.class.getName() + ".requestId";
+
+    static final String DEADLINE_ATTRIBUTE = RequestContext.class.getName() + ".deadline";
+
+    private static final int MAX_LENGTH = 128;
+
+    private RequestContext() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return the request ID of the request being handled on this thread, or {@code null} outside a request
+     */
+    public static String currentRequestId() {
+        return MDC.get(MDC_KEY);
+    }
+
+    /**
+     * @return the request's ID, falling back to the header (or a new ID) for requests that did not
+     * pass through the filter
+     */
+    public static String requestId(HttpServletRequest request) {
+        Object requestId = request.getAttribute(ATTRIBUTE);
+        if (requestId instanceof String id) {
+            return id;
+        }
+        return resolve(request.getHeader(HEADER));
+    }
+
+    /**
+     * @return the exchange's request ID, falling back to the header (or a new ID) for exchanges
+     * that did not pass through the filter
+     */
+    public static String requestId(ServerWebExchange exchange) {
+        Object requestId = exchange.getAttribute(ATTRIBUTE);
+        if (requestId instanceof String id) {
+            return id;
+        }
+        return resolve(exchange.getRequest().getHeaders().getFirst(HEADER));
+    }
+
+    /**
+     * @return the deadline of the request being handled on this thread, or {@code null} when it has
+     * none or the thread is not handling a request
+     */
+    public static Deadline currentDeadline() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Deadline) attributes.getAttribute(DEADLINE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * @return the request's deadline, or {@code null} when it has none
+     */
+    public static Deadline deadline(HttpServletRequest request) {
+        return (Deadline) request.getAttribute(DEADLINE_ATTRIBUTE);
+    }
+
+    /**
+     * @return the exchange's deadline, or {@code null} when it has none
+     */
+    public static Deadline deadline(ServerWebExchange exchange) {
+        return exchange.getAttribute(DEADLINE_ATTRIBUTE);
+    }
+
+    /**
+     * @return the deadline given by the caller's budget header, clamped to
+     * [0, {@link Deadline#MAX_BUDGET}], or {@code null} if the header is missing or not a long
+     */
+    static Deadline parseBudget(String headerValue) {
+        if (headerValue == null || headerValue.isEmpty()) {
+            return null;
+        }
+        try {
+            return Deadline.afterMillis(Long.parseLong(headerValue));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String resolve(String headerValue) {
+        return isUsable(headerValue) ? headerValue : RequestIds.next();
+    }
+
+    /**
+     * Accepts only short IDs made of URL-safe characters, so a caller cannot inject arbitrary text
+     * into logs and response headers.
+     */
+    private static boolean isUsable(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == ':';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.errorcontract.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Establishes the request ID once per request, stores it as a request attribute, echoes it in the
+ * {@code X-Request-ID} response header and puts it in the MDC for every dispatch, including the
+ * async dispatch that completes a reactive handler, so it shows up in every log line.
+ * <p>
+ * Also assigns the request deadline: the caller's remaining budget, capped by the service's
+ * default budget when one is configured.
+ */
+public class RequestContextFilter extends OncePerRequestFilter implements Ordered {
+
+    private final Duration defaultBudget;
+
+    public RequestContextFilter() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param defaultBudget budget of requests that arrive without one; zero for no deadline
+     */
+    public RequestContextFilter(Duration defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = (String) request.getAttribute(RequestContext.ATTRIBUTE);
+        if (requestId == null) {
+            requestId = RequestContext.resolve(request.getHeader(RequestContext.HEADER));
+            request.setAttribute(RequestContext.ATTRIBUTE, requestId);
+            response.setHeader(RequestContext.HEADER, requestId);
+
+            Deadline deadline = RequestContext.parseBudget(request.getHeader(RequestContext.BUDGET_HEADER));
+            if (!defaultBudget.isNegative() && !defaultBudget.isZero()) {
+                deadline = Deadline.after(defaultBudget).min(deadline);
+            }
+            if (deadline != null) {
+                request.setAttribute(RequestContext.DEADLINE_ATTRIBUTE, deadline);
+            }
+        }
+        MDC.put(RequestContext.MDC_KEY, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(RequestContext.MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
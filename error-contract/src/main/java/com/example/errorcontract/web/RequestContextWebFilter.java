@@ -0,0 +1,55 @@
+package com.example.errorcontract.web;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * WebFlux counterpart of {@link RequestContextFilter}: establishes the request ID and deadline as
+ * exchange attributes and echoes the ID in the {@code X-Request-ID} response header.
+ * <p>
+ * The ID is not put in the MDC, since an exchange is not bound to one thread; code that logs on
+ * its behalf reads it with {@link RequestContext#requestId(ServerWebExchange)}.
+ */
+public class RequestContextWebFilter implements WebFilter, Ordered {
+
+    private final Duration defaultBudget;
+
+    public RequestContextWebFilter() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param defaultBudget budget of requests that arrive without one; zero for no deadline
+     */
+    public RequestContextWebFilter(Duration defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String requestId = RequestContext.resolve(headers.getFirst(RequestContext.HEADER));
+        exchange.getAttributes().put(RequestContext.ATTRIBUTE, requestId);
+        exchange.getResponse().getHeaders().set(RequestContext.HEADER, requestId);
+
+        Deadline deadline = RequestContext.parseBudget(headers.getFirst(RequestContext.BUDGET_HEADER));
+        if (!defaultBudget.isNegative() && !defaultBudget.isZero()) {
+            deadline = Deadline.after(defaultBudget).min(deadline);
+        }
+        if (deadline != null) {
+            exchange.getAttributes().put(RequestContext.DEADLINE_ATTRIBUTE, deadline);
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
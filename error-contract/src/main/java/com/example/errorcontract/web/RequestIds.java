@@ -0,0 +1,61 @@
+package com.example.errorcontract.web;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates ULIDs: 26 Crockford base32 characters encoding a 48-bit millisecond timestamp and 80
+ * random bits. Each thread keeps its own state, so generating an ID touches no shared memory. The
+ * first ID a thread makes in a millisecond gets fresh random bits, and the following ones in that
+ * millisecond increment them (monotonic ULIDs). IDs from one thread are strictly increasing, IDs
+ * from different threads sort by millisecond, and two threads only collide if their 80-bit random
+ * starting points fall within a few increments of each other.
+ */
+public final class RequestIds {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final int LENGTH = 26;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private RequestIds() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String next() {
+        return STATE.get().next();
+    }
+
+    private static final class State {
+        private long millis = -1;
+        // The 80 random bits: 16 in randomHigh, 64 in randomLow
+        private int randomHigh;
+        private long randomLow;
+
+        String next() {
+            long now = System.currentTimeMillis();
+            // In the same millisecond, or when the clock went back, the last value is incremented
+            if (now > millis) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                millis = now;
+                randomHigh = random.nextInt(1 << 16);
+                randomLow = random.nextLong();
+            } else if (++randomLow == 0 && ++randomHigh == 1 << 16) {
+                // All 80 bits overflowed: borrow from the next millisecond
+                millis++;
+                randomHigh = 0;
+            }
+            return encode((millis << 16) | randomHigh, randomLow);
+        }
+    }
+
+    private static String encode(long high, long low) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.errorcontract.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Body encodings the services negotiate. JSON stays the default for external clients; Smile and
+ * CBOR are binary encodings of the same documents, smaller on the wire and cheaper to parse, for
+ * the internal service1 → service2 hop.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public JsonFactory newFactory() {
+        return switch (this) {
+            case JSON -> new JsonFactory();
+            case SMILE -> new SmileFactory();
+            case CBOR -> new CBORFactory();
+        };
+    }
+
+    /**
+     * Copy of {@code objectMapper} that writes this format, keeping its modules and features so
+     * every format encodes dates, nulls and properties the same way.
+     */
+    public ObjectMapper mapper(ObjectMapper objectMapper) {
+        return this == JSON ? objectMapper : objectMapper.copyWith(newFactory());
+    }
+
+    /**
+     * @return the format of {@code contentType}, {@link #JSON} when it is absent or not binary
+     */
+    public static WireFormat of(MediaType contentType) {
+        if (contentType != null) {
+            if (SMILE.mediaType.isCompatibleWith(contentType)) {
+                return SMILE;
+            }
+            if (CBOR.mediaType.isCompatibleWith(contentType)) {
+                return CBOR;
+            }
+        }
+        return JSON;
+    }
+}
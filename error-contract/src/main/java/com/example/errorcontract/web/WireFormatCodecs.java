@@ -0,0 +1,85 @@
+package com.example.errorcontract.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Codec setup for the reactive side of the wire formats, shared by service1's WebClient and
+ * service2's WebFlux runtime: the reactive counterpart of {@link WireFormatConverters}.
+ */
+public final class WireFormatCodecs {
+
+    private WireFormatCodecs() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Smile and CBOR codecs for a WebClient, built from copies of the application's
+     * {@code objectMapper} so bodies are bound the same way whichever format is negotiated. Client
+     * default codecs include neither a Smile reader nor CBOR, so all of them are custom codecs.
+     */
+    public static void configureClient(CodecConfigurer codecs, ObjectMapper objectMapper) {
+        ObjectMapper smileMapper = WireFormat.SMILE.mapper(objectMapper);
+        // The single-argument Jackson codec constructors fall back to the JSON mime types
+        codecs.customCodecs().register(new Jackson2SmileEncoder(smileMapper, WireFormat.SMILE.mediaType()));
+        codecs.customCodecs().register(new Jackson2SmileDecoder(smileMapper, WireFormat.SMILE.mediaType()));
+        registerCbor(codecs, objectMapper);
+    }
+
+    /**
+     * Server counterpart of {@link #configureClient}. The server's default Smile codecs are
+     * replaced rather than added to. Custom writers are consulted before the default ones, so a
+     * JSON encoder goes ahead of CBOR to keep JSON the answer for {@code *}{@code /*}.
+     */
+    public static void configureServer(CodecConfigurer codecs, ObjectMapper objectMapper) {
+        ObjectMapper smileMapper = WireFormat.SMILE.mapper(objectMapper);
+        codecs.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, WireFormat.SMILE.mediaType()));
+        codecs.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, WireFormat.SMILE.mediaType()));
+        codecs.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+        registerCbor(codecs, objectMapper);
+    }
+
+    private static void registerCbor(CodecConfigurer codecs, ObjectMapper objectMapper) {
+        ObjectMapper cborMapper = WireFormat.CBOR.mapper(objectMapper);
+        codecs.customCodecs().register(new CborValueEncoder(cborMapper));
+        codecs.customCodecs().register(new Jackson2CborDecoder(cborMapper, WireFormat.CBOR.mediaType()));
+    }
+
+    /**
+     * {@link Jackson2CborEncoder} rejects {@code encode}, which WebClient uses for every request
+     * body, and only implements {@code encodeValue}. Bodies on both sides are single values
+     * ({@code Mono}); a multi-value stream is rejected rather than cut to its first element.
+     */
+    private static final class CborValueEncoder extends Jackson2CborEncoder {
+
+        CborValueEncoder(ObjectMapper cborMapper) {
+            super(cborMapper, WireFormat.CBOR.mediaType());
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (!(inputStream instanceof Mono<?> value)) {
+                return Flux.error(new EncodingException("CBOR bodies must be single values, not a stream of " + elementType));
+            }
+            return value
+                    .map(element -> encodeValue(element, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+    }
+}
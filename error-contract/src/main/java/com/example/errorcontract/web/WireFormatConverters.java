@@ -0,0 +1,42 @@
+package com.example.errorcontract.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Message converter setup shared by both services: every response, error bodies included, is
+ * written in the format the client negotiates through {@code Accept}, JSON unless it asks for
+ * Smile or CBOR.
+ */
+public final class WireFormatConverters {
+
+    private WireFormatConverters() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Puts the error template converter first and Smile and CBOR converters right after the JSON
+     * one, so JSON still wins for {@code *}{@code /*}. The binary converters use copies of the
+     * application's {@code objectMapper}; Spring MVC's defaults would use unconfigured mappers
+     * that, for example, write dates as arrays.
+     */
+    public static void configure(List<HttpMessageConverter<?>> converters, ObjectMapper objectMapper) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        int insertAt = Math.min(json + 1, converters.size());
+        converters.add(insertAt, new MappingJackson2CborHttpMessageConverter(WireFormat.CBOR.mapper(objectMapper)));
+        converters.add(insertAt, new MappingJackson2SmileHttpMessageConverter(WireFormat.SMILE.mapper(objectMapper)));
+
+        converters.add(0, new ErrorResponseTemplateConverter(objectMapper));
+    }
+}
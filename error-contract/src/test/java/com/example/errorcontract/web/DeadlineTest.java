@@ -0,0 +1,43 @@
+package com.example.errorcontract.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineTest {
+
+    @Test
+    void hugeMillisBudgetIsCutToMaxBudget() {
+        Deadline deadline = Deadline.afterMillis(Long.MAX_VALUE);
+
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.remainingMillis()).isBetween(Deadline.MAX_BUDGET.toMillis() - 1000, Deadline.MAX_BUDGET.toMillis());
+    }
+
+    @Test
+    void hugeDurationBudgetIsCutToMaxBudget() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(Long.MAX_VALUE));
+
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.remainingMillis()).isBetween(Deadline.MAX_BUDGET.toMillis() - 1000, Deadline.MAX_BUDGET.toMillis());
+    }
+
+    @Test
+    void negativeBudgetIsAlreadyExpired() {
+        assertThat(Deadline.afterMillis(Long.MIN_VALUE).isExpired()).isTrue();
+        assertThat(Deadline.afterMillis(-5).remainingMillis()).isZero();
+        assertThat(Deadline.after(Duration.ofSeconds(Long.MIN_VALUE)).isExpired()).isTrue();
+    }
+
+    @Test
+    void minPicksTheEarlierDeadlineEvenAgainstAHugeBudget() {
+        Deadline shortDeadline = Deadline.afterMillis(100);
+        Deadline hugeDeadline = Deadline.afterMillis(Long.MAX_VALUE);
+
+        assertThat(shortDeadline.min(hugeDeadline)).isSameAs(shortDeadline);
+        assertThat(hugeDeadline.min(shortDeadline)).isSameAs(shortDeadline);
+        assertThat(shortDeadline.min(null)).isSameAs(shortDeadline);
+    }
+}
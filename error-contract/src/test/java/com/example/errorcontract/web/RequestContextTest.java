@@ -0,0 +1,44 @@
+package com.example.errorcontract.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestContextTest {
+
+    @Test
+    void budgetHeaderBeyondMillisOverflowIsCutToMaxBudget() {
+        // Above Long.MAX_VALUE / 1_000_000, where converting to nanos used to wrap to the past
+        Deadline deadline = RequestContext.parseBudget("9300000000000000");
+
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.remainingMillis()).isBetween(Deadline.MAX_BUDGET.toMillis() - 1000, Deadline.MAX_BUDGET.toMillis());
+    }
+
+    @Test
+    void negativeBudgetHeaderIsAnExpiredDeadline() {
+        assertThat(RequestContext.parseBudget("-1").isExpired()).isTrue();
+        assertThat(RequestContext.parseBudget(String.valueOf(Long.MIN_VALUE)).isExpired()).isTrue();
+    }
+
+    @Test
+    void unparseableBudgetHeaderIsIgnored() {
+        assertThat(RequestContext.parseBudget(null)).isNull();
+        assertThat(RequestContext.parseBudget("")).isNull();
+        assertThat(RequestContext.parseBudget("soon")).isNull();
+        assertThat(RequestContext.parseBudget("99999999999999999999")).isNull();
+    }
+
+    @Test
+    void budgetHeaderWithinRangeIsKept() {
+        assertThat(RequestContext.parseBudget("5000").remainingMillis()).isBetween(4000L, 5000L);
+    }
+
+    @Test
+    void resolveKeepsUsableIdsAndReplacesOthers() {
+        assertThat(RequestContext.resolve("abc-123_x.y:z")).isEqualTo("abc-123_x.y:z");
+        assertThat(RequestContext.resolve("bad id\nInjected: header")).hasSize(26);
+        assertThat(RequestContext.resolve(null)).hasSize(26);
+        assertThat(RequestContext.resolve("x".repeat(200))).hasSize(26);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.errorcontract.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestIdsTest {
+
+    @Test
+    void idsAreStrictlyIncreasingWithinAMillisecond() {
+        // Many IDs per millisecond, so most of them increment the previous one
+        String previous = RequestIds.next();
+        for (int i = 0; i < 200_000; i++) {
+            String id = RequestIds.next();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void idsAreCrockfordBase32OfFixedLength() {
+        assertThat(RequestIds.next()).hasSize(26).matches("[0-9A-HJKMNP-TV-Z]{26}");
+    }
+
+    @Test
+    void idsFromConcurrentThreadsAreUniqueAndIncreasingPerThread() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    String previous = "";
+                    boolean increasing = true;
+                    for (int i = 0; i < perThread; i++) {
+                        String id = RequestIds.next();
+                        increasing &= id.compareTo(previous) > 0;
+                        ids.add(id);
+                        previous = id;
+                    }
+                    return increasing;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(ids).hasSize(threads * perThread);
+    }
+}
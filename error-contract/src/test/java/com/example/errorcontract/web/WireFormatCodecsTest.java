@@ -0,0 +1,62 @@
+package com.example.errorcontract.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.ClientCodecConfigurer;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WireFormatCodecsTest {
+
+    private static final ResolvableType MAP_TYPE = ResolvableType.forClass(Map.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void cborEncoderEncodesASingleValue() throws Exception {
+        DataBuffer buffer = DataBufferUtils.join(cborEncoder().encode(Mono.just(Map.of("code", "X")),
+                DefaultDataBufferFactory.sharedInstance, MAP_TYPE, WireFormat.CBOR.mediaType(), Map.of()))
+                .block(Duration.ofSeconds(5));
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+
+        assertThat(WireFormat.CBOR.mapper(objectMapper).readValue(bytes, Map.class)).isEqualTo(Map.of("code", "X"));
+    }
+
+    @Test
+    void cborEncoderRejectsStreamsInsteadOfTruncatingThem() {
+        Flux<DataBuffer> encoded = cborEncoder().encode(Flux.just(Map.of("a", 1), Map.of("b", 2)),
+                DefaultDataBufferFactory.sharedInstance, MAP_TYPE, WireFormat.CBOR.mediaType(), Map.of());
+
+        assertThatThrownBy(() -> encoded.collectList().block(Duration.ofSeconds(5)))
+                .isInstanceOf(EncodingException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Encoder<Object> cborEncoder() {
+        ClientCodecConfigurer codecs = ClientCodecConfigurer.create();
+        WireFormatCodecs.configureClient(codecs, objectMapper);
+        List<HttpMessageWriter<?>> writers = codecs.getWriters();
+        return writers.stream()
+                .filter(writer -> writer instanceof EncoderHttpMessageWriter<?>)
+                .map(writer -> (Encoder<Object>) ((EncoderHttpMessageWriter<?>) writer).getEncoder())
+                .filter(encoder -> encoder.canEncode(MAP_TYPE, WireFormat.CBOR.mediaType()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Runs the same load against the in-process services twice, once with service2 on servlet Tomcat
+# and once on Netty/WebFlux (the reactive profile), and saves both reports under
+# load-test/results/. Further options are passed to both runs.
+#
+# Usage: load-test/compare-server-modes.sh [options]
+#   load-test/compare-server-modes.sh --model=closed --concurrency=400 --duration=60s
+#   load-test/compare-server-modes.sh --rate=1000 --mix=success=50,internal-error=50
+set -euo pipefail
+
+LOAD_TEST_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$LOAD_TEST_DIR")"
+RESULTS_DIR="$LOAD_TEST_DIR/results"
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    (cd "$ROOT_DIR" && mvn -B -q -pl load-test -am package -DskipTests)
+fi
+
+mkdir -p "$RESULTS_DIR"
+REVISION="$(git -C "$ROOT_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+PREFIX="$RESULTS_DIR/$(date +%Y%m%d-%H%M%S)-$REVISION"
+
+for MODE in servlet reactive; do
+    PROFILE=default
+    [[ "$MODE" == reactive ]] && PROFILE=reactive
+    echo "=== service2 on $MODE ==="
+    java -jar "$LOAD_TEST_DIR/target/load-test.jar" \
+        --s2.spring.profiles.active=$PROFILE \
+        "$@" | tee "$PREFIX-$MODE.txt"
+done
+
+echo "Reports written to $PREFIX-servlet.txt and $PREFIX-reactive.txt"
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Runs the same load against the in-process services twice, once with platform and once with
+# virtual request threads in service1, and saves both reports under load-test/results/. The
+# /proxy/*-error endpoints relay service2's bodies (proxy.pass-through.enabled), which copies them
+# on the request thread, so both modes have blocking work to do. Further options are passed to
+# both runs.
+#
+# Usage: load-test/compare-thread-modes.sh [options]
+#   load-test/compare-thread-modes.sh --model=closed --concurrency=400 --duration=60s
+#   load-test/compare-thread-modes.sh --rate=2000 --s1.service2.client.concurrency-limit.max-limit=100
+set -euo pipefail
+
+LOAD_TEST_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$LOAD_TEST_DIR")"
+RESULTS_DIR="$LOAD_TEST_DIR/results"
+
+JAVA_FEATURE="$(java -XshowSettings:properties -version 2>&1 | sed -n 's/^ *java.specification.version = //p')"
+if (( ${JAVA_FEATURE%%.*} < 21 )); then
+    echo "Virtual threads need Java 21 or later, but java is version $JAVA_FEATURE" >&2
+    exit 1
+fi
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    (cd "$ROOT_DIR" && mvn -B -q -pl load-test -am package -DskipTests)
+fi
+
+mkdir -p "$RESULTS_DIR"
+REVISION="$(git -C "$ROOT_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+PREFIX="$RESULTS_DIR/$(date +%Y%m%d-%H%M%S)-$REVISION"
+
+for MODE in platform virtual; do
+    VIRTUAL=false
+    [[ "$MODE" == virtual ]] && VIRTUAL=true
+    echo "=== $MODE threads ==="
+    java -jar "$LOAD_TEST_DIR/target/load-test.jar" \
+        --s1.spring.threads.virtual.enabled=$VIRTUAL \
+        --s1.proxy.pass-through.enabled=true \
+        "$@" | tee "$PREFIX-$MODE.txt"
+done
+
+echo "Reports written to $PREFIX-platform.txt and $PREFIX-virtual.txt"
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Builds the load-test jar and runs it, saving the report under load-test/results/ so runs can be
+# compared over time. Without --target both services are started in-process on random ports.
+#
+# Usage: load-test/run-load-test.sh [options]
+#   load-test/run-load-test.sh                                   # open model, 200 req/s, 30s
+#   load-test/run-load-test.sh --model=closed --concurrency=64
+#   load-test/run-load-test.sh --rate=1000 --mix=success=90,internal-error=10
+#   SKIP_BUILD=1 load-test/run-load-test.sh --target=http://localhost:8081/api/v1
+set -euo pipefail
+
+LOAD_TEST_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$LOAD_TEST_DIR")"
+RESULTS_DIR="$LOAD_TEST_DIR/results"
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    (cd "$ROOT_DIR" && mvn -B -q -pl load-test -am package -DskipTests)
+fi
+
+mkdir -p "$RESULTS_DIR"
+REVISION="$(git -C "$ROOT_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+RESULT_FILE="$RESULTS_DIR/$(date +%Y%m%d-%H%M%S)-$REVISION.txt"
+
+java -jar "$LOAD_TEST_DIR/target/load-test.jar" "$@" | tee "$RESULT_FILE"
+
+echo "Report written to $RESULT_FILE"
@@ -0,0 +1,86 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint. Request threads record into lock-free {@link Recorder}s;
+ * only the reporting thread drains them, via {@link #drainInterval()}, into the run totals.
+ */
+final class EndpointStats {
+
+    static final String NOT_SENT = "NOT_SENT";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Recorder responseTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram totalResponseTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final ConcurrentHashMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @param responseMicros time from the request's intended start to its response; equal to
+     *                       {@code serviceMicros} in the closed model
+     * @param serviceMicros  time from actually sending the request to its response
+     * @param outcome        {@code OK} or the error code of the response
+     */
+    void record(long responseMicros, long serviceMicros, String outcome) {
+        responseTime.recordValue(responseMicros);
+        serviceTime.recordValue(serviceMicros);
+        countOutcome(outcome);
+    }
+
+    /**
+     * Records an open-model request that was skipped because too many were outstanding. It has a
+     * response time but no service time, since it never reached the services.
+     */
+    void recordNotSent(long responseMicros) {
+        responseTime.recordValue(responseMicros);
+        countOutcome(NOT_SENT);
+    }
+
+    private void countOutcome(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Moves everything recorded since the last call into the totals.
+     *
+     * @return the response times recorded since the last call
+     */
+    Histogram drainInterval() {
+        Histogram interval = responseTime.getIntervalHistogram();
+        totalResponseTime.add(interval);
+        totalServiceTime.add(serviceTime.getIntervalHistogram());
+        return interval;
+    }
+
+    Histogram totalResponseTime() {
+        return totalResponseTime;
+    }
+
+    Histogram totalServiceTime() {
+        return totalServiceTime;
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+}
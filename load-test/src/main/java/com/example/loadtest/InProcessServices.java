@@ -0,0 +1,100 @@
+package com.example.loadtest;
+
+import com.example.service1.Service1Application;
+import com.example.service2.Service2Application;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Starts service2 and then service1 in this JVM on random ports, with service1 pointed at service2.
+ * <p>
+ * Both service jars ship an {@code application.yml}, and on a shared classpath
+ * {@code classpath:application.yml} would resolve to only one of them, so each service is given
+ * the URL of the file inside its own jar (or classes directory) as {@code spring.config.location}.
+ * <p>
+ * Both services are given the same {@code --capture-stack-traces} setting, since the flag they set
+ * is static and shared by everything in this JVM.
+ */
+final class InProcessServices implements AutoCloseable {
+
+    private final ConfigurableApplicationContext service2;
+    private final ConfigurableApplicationContext service1;
+
+    private InProcessServices(ConfigurableApplicationContext service2, ConfigurableApplicationContext service1) {
+        this.service2 = service2;
+        this.service1 = service1;
+    }
+
+    static InProcessServices start(LoadTestOptions options) {
+        String captureStackTraces = "--" + LoadTestOptions.CAPTURE_STACK_TRACES_PROPERTY + "=" + options.captureStackTraces();
+        List<String> service2Args = new ArrayList<>(options.service2Args());
+        service2Args.add(0, captureStackTraces);
+        ConfigurableApplicationContext service2 = run(Service2Application.class, "service2", service2Args);
+        try {
+            List<String> service1Args = new ArrayList<>(options.service1Args());
+            service1Args.add(0, "--service2.base-url=http://localhost:" + port(service2) + "/api/v1");
+            service1Args.add(0, captureStackTraces);
+            ConfigurableApplicationContext service1 = run(Service1Application.class, "service1", service1Args);
+            return new InProcessServices(service2, service1);
+        } catch (RuntimeException e) {
+            service2.close();
+            throw e;
+        }
+    }
+
+    String service1BaseUrl() {
+        return "http://localhost:" + port(service1) + "/api/v1";
+    }
+
+    @Override
+    public void close() {
+        service1.close();
+        service2.close();
+    }
+
+    private static ConfigurableApplicationContext run(Class<?> application, String name, List<String> extraArgs) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.location=" + ownApplicationYml(application));
+        args.add("--server.port=0");
+        args.add("--spring.main.banner-mode=off");
+        // Per-request DEBUG logging would measure the console rather than the services
+        args.add("--logging.level.com.example." + name + "=WARN");
+        args.addAll(extraArgs);
+        return SpringApplication.run(application, args.toArray(new String[0]));
+    }
+
+    private static String ownApplicationYml(Class<?> application) {
+        String codeSource = application.getProtectionDomain().getCodeSource().getLocation().toString();
+        // jar:nested:/app.jar/!BOOT-INF/lib/service1.jar!/ -> nested:/app.jar/!BOOT-INF/lib/service1.jar
+        if (codeSource.startsWith("jar:")) {
+            codeSource = codeSource.substring("jar:".length());
+        }
+        if (codeSource.endsWith("!/")) {
+            codeSource = codeSource.substring(0, codeSource.length() - 2);
+        }
+        try {
+            Enumeration<URL> candidates = application.getClassLoader().getResources("application.yml");
+            while (candidates.hasMoreElements()) {
+                String candidate = candidates.nextElement().toString();
+                if (candidate.contains(codeSource)) {
+                    return candidate;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throw new IllegalStateException("No application.yml found next to " + application.getName() + " in " + codeSource);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the traffic mix against service1 in the open or closed model and records per-endpoint
+ * latencies and outcomes. Requests started during the warm-up are sent but not recorded.
+ */
+final class LoadGenerator {
+
+    private static final String CODE_FIELD = "\"code\":\"";
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final TrafficMix mix;
+    private final Map<TrafficMix.Endpoint, EndpointStats> stats = new LinkedHashMap<>();
+    private final HttpClient client;
+    private final PrintStream out;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private long startNanos;
+    private long measureFromNanos;
+    private long endNanos;
+
+    LoadGenerator(LoadTestOptions options, String baseUrl, PrintStream out) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.mix = TrafficMix.parse(options.mix());
+        this.out = out;
+        for (TrafficMix.Endpoint endpoint : mix.endpoints()) {
+            stats.put(endpoint, new EndpointStats(endpoint.name()));
+        }
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.requestTimeout())
+                .build();
+    }
+
+    LoadReport run() throws InterruptedException {
+        startNanos = System.nanoTime();
+        measureFromNanos = startNanos + options.warmup().toNanos();
+        endNanos = measureFromNanos + options.duration().toNanos();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-test-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = options.reportInterval().toMillis();
+        reporter.scheduleAtFixedRate(() -> reportInterval(true), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        if (options.model() == LoadTestOptions.Model.OPEN) {
+            runOpen();
+        } else {
+            runClosed();
+        }
+
+        reporter.shutdown();
+        reporter.awaitTermination(intervalMillis, TimeUnit.MILLISECONDS);
+        // The last partial interval only goes into the totals
+        reportInterval(false);
+        return new LoadReport(options, new ArrayList<>(stats.values()));
+    }
+
+    /**
+     * Issues requests on a fixed schedule without waiting for responses. Latency is measured from
+     * each request's intended start, so a stalled server is charged for the whole backlog it
+     * causes instead of silently lowering the request rate (coordinated omission).
+     */
+    private void runOpen() throws InterruptedException {
+        long rate = options.rate();
+        for (long i = 0; ; i++) {
+            long intended = startNanos + i * 1_000_000_000L / rate;
+            if (intended - endNanos >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            TrafficMix.Endpoint endpoint = mix.next();
+            EndpointStats endpointStats = intended - measureFromNanos >= 0 ? stats.get(endpoint) : null;
+            if (inFlight.get() >= options.maxInFlight()) {
+                // Charged the full client timeout, so the backlog that forced the skip still shows in the percentiles
+                if (endpointStats != null) {
+                    endpointStats.recordNotSent(options.requestTimeout().toNanos() / 1000);
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            client.sendAsync(endpoint.request(baseUrl, options.requestTimeout()), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        long now = System.nanoTime();
+                        if (endpointStats != null) {
+                            endpointStats.record((now - intended) / 1000, (now - sent) / 1000, outcome(response, failure));
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+        awaitInFlight();
+    }
+
+    /**
+     * Runs a fixed number of users that each send their next request as soon as the previous one
+     * completes; throughput is whatever the services sustain.
+     */
+    private void runClosed() throws InterruptedException {
+        ExecutorService users = Executors.newFixedThreadPool(options.concurrency());
+        for (int user = 0; user < options.concurrency(); user++) {
+            users.execute(() -> {
+                long started;
+                while ((started = System.nanoTime()) - endNanos < 0) {
+                    TrafficMix.Endpoint endpoint = mix.next();
+                    inFlight.incrementAndGet();
+                    String outcome;
+                    try {
+                        HttpResponse<String> response = client.send(
+                                endpoint.request(baseUrl, options.requestTimeout()), HttpResponse.BodyHandlers.ofString());
+                        outcome = outcome(response, null);
+                    } catch (IOException e) {
+                        outcome = outcome(null, e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    if (started - measureFromNanos >= 0) {
+                        long micros = (System.nanoTime() - started) / 1000;
+                        stats.get(endpoint).record(micros, micros, outcome);
+                    }
+                }
+            });
+        }
+        users.shutdown();
+        users.awaitTermination(options.requestTimeout().toMillis() + (endNanos - System.nanoTime()) / 1_000_000,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long giveUpAt = System.nanoTime() + options.requestTimeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() - giveUpAt < 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void reportInterval(boolean print) {
+        Histogram interval = new Histogram(3);
+        for (EndpointStats endpointStats : stats.values()) {
+            interval.add(endpointStats.drainInterval());
+        }
+        if (!print) {
+            return;
+        }
+        double elapsed = (System.nanoTime() - startNanos) / 1e9;
+        if (System.nanoTime() - measureFromNanos < 0) {
+            out.printf("[%6.1fs] warming up, %d in flight%n", elapsed, inFlight.get());
+            return;
+        }
+        double seconds = options.reportInterval().toMillis() / 1000.0;
+        out.printf("[%6.1fs] %7d req %9.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  %d in flight%n",
+                elapsed, interval.getTotalCount(), interval.getTotalCount() / seconds,
+                millis(interval, 50), millis(interval, 99), interval.getMaxValue() / 1000.0, inFlight.get());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * @return {@code OK} for 2xx responses, the error code of error responses, or the kind of
+     * client-side failure
+     */
+    private static String outcome(HttpResponse<String> response, Throwable failure) {
+        if (failure != null) {
+            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+            return cause instanceof HttpTimeoutException ? "CLIENT_TIMEOUT" : "IO_ERROR";
+        }
+        if (response.statusCode() / 100 == 2) {
+            return "OK";
+        }
+        String body = response.body();
+        int start = body.indexOf(CODE_FIELD);
+        if (start >= 0) {
+            int end = body.indexOf('"', start + CODE_FIELD.length());
+            if (end > 0) {
+                return body.substring(start + CODE_FIELD.length(), end);
+            }
+        }
+        return "HTTP_" + response.statusCode();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Final per-endpoint latency percentiles and outcome breakdown of a run.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestOptions options;
+    private final List<EndpointStats> endpoints;
+
+    LoadReport(LoadTestOptions options, List<EndpointStats> endpoints) {
+        this.options = options;
+        this.endpoints = endpoints;
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        if (options.model() == LoadTestOptions.Model.OPEN) {
+            out.printf("Open model, %d req/s for %ds (after %ds warm-up)%n",
+                    options.rate(), options.duration().toSeconds(), options.warmup().toSeconds());
+            printLatencies(out, "Response time (from intended start, corrected for coordinated omission)",
+                    EndpointStats::totalResponseTime);
+            printLatencies(out, "Service time (from actual send)", EndpointStats::totalServiceTime);
+        } else {
+            out.printf("Closed model, %d users for %ds (after %ds warm-up)%n",
+                    options.concurrency(), options.duration().toSeconds(), options.warmup().toSeconds());
+            printLatencies(out, "Response time", EndpointStats::totalResponseTime);
+        }
+        printOutcomes(out);
+    }
+
+    private void printLatencies(PrintStream out, String title, Function<EndpointStats, Histogram> histogram) {
+        out.printf("%n%s, ms%n", title);
+        out.printf("%-24s %9s %9s %9s %9s %9s %9s %9s%n", "endpoint", "count", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram all = new Histogram(3);
+        for (EndpointStats endpoint : endpoints) {
+            Histogram latencies = histogram.apply(endpoint);
+            all.add(latencies);
+            printRow(out, endpoint.name(), latencies);
+        }
+        printRow(out, "ALL", all);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram latencies) {
+        out.printf("%-24s %9d %9.1f", name, latencies.getTotalCount(),
+                latencies.getTotalCount() / (options.duration().toMillis() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", latencies.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", latencies.getMaxValue() / 1000.0);
+    }
+
+    private void printOutcomes(PrintStream out) {
+        out.printf("%nOutcomes%n");
+        Map<String, Long> all = new TreeMap<>();
+        for (EndpointStats endpoint : endpoints) {
+            Map<String, Long> outcomes = endpoint.outcomes();
+            outcomes.forEach((outcome, count) -> all.merge(outcome, count, Long::sum));
+            out.printf("%-24s %s%n", endpoint.name(), format(outcomes));
+        }
+        out.printf("%-24s %s%n", "ALL", format(all));
+        long notSent = all.getOrDefault(EndpointStats.NOT_SENT, 0L);
+        if (notSent > 0) {
+            out.printf("%nWARNING: %d requests were not sent because --max-in-flight=%d requests were outstanding.%n"
+                    + "They are counted at the request timeout; the target rate was not sustained.%n",
+                    notSent, options.maxInFlight());
+        }
+    }
+
+    private static String format(Map<String, Long> outcomes) {
+        StringBuilder line = new StringBuilder();
+        outcomes.forEach((outcome, count) -> line.append(outcome).append('=').append(count).append("  "));
+        return line.toString().trim();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Entry point: starts both services in-process unless {@code --target} is given, drives the
+ * configured traffic mix against service1 and prints the latency and outcome report.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.print(LoadTestOptions.USAGE);
+            return;
+        }
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        InProcessServices services = options.target() == null ? InProcessServices.start(options) : null;
+        try {
+            String target = services != null ? services.service1BaseUrl() : options.target();
+            System.out.printf("Target %s, mix %s%n", target, options.mix());
+            if (services != null) {
+                System.out.printf("Domain exception stack traces %s%n", options.captureStackTraces() ? "captured" : "skipped");
+            }
+            LoadReport report = new LoadGenerator(options, target, System.out).run();
+            report.print(System.out);
+        } finally {
+            if (services != null) {
+                services.close();
+            }
+        }
+        // HttpClient worker threads are not daemons
+        System.exit(0);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command line options, all given as {@code --name=value}. Arguments starting with {@code --s1.} or
+ * {@code --s2.} are passed on (without the prefix) as properties of the in-process service1 or
+ * service2, e.g. {@code --s1.service2.client.batching.enabled=false}.
+ * <p>
+ * Whether domain exceptions capture stack traces is a JVM-wide switch, which both in-process
+ * services would otherwise set from their own configuration, the last one to start winning. It is
+ * therefore set once with {@code --capture-stack-traces} and cannot be overridden per service.
+ */
+record LoadTestOptions(
+        Model model,
+        int rate,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration reportInterval,
+        Duration requestTimeout,
+        int maxInFlight,
+        String mix,
+        String target,
+        boolean captureStackTraces,
+        List<String> service1Args,
+        List<String> service2Args) {
+
+    /**
+     * {@code OPEN} issues requests at a constant rate regardless of responses and measures latency
+     * from each request's intended start, correcting for coordinated omission; {@code CLOSED} runs a
+     * fixed number of users that each wait for their response before sending the next request.
+     */
+    enum Model { OPEN, CLOSED }
+
+    static final String CAPTURE_STACK_TRACES_PROPERTY = "error-handling.exceptions.capture-stack-traces";
+
+    static final String DEFAULT_MIX = "success=50,validation-error=8,not-found=8,business-error=8,"
+            + "external-service-error=8,internal-error=8,process-order=10";
+
+    static final String USAGE = """
+            Usage: load-test [options]
+              --model=open|closed         load model (default open)
+              --rate=N                    open model: requests per second (default 200)
+              --concurrency=N             closed model: concurrent users (default 16)
+              --warmup=5s                 unrecorded warm-up before measuring (default 5s)
+              --duration=30s              measured duration (default 30s)
+              --report-interval=5s        progress report interval (default 5s)
+              --request-timeout=10s       per-request client timeout (default 10s)
+              --max-in-flight=N           open model: requests over this many outstanding are not sent;
+                                          they count as NOT_SENT at the request timeout (default 10000)
+              --mix=name=weight,...       endpoint weights (default %s)
+              --target=URL                service1 base URL, e.g. http://localhost:8081/api/v1;
+                                          without it both services are started in-process
+              --capture-stack-traces=BOOL in-process services: domain exceptions record stack traces
+                                          (default true); JVM-wide, so it applies to both services
+              --s1.<property>=value       property for the in-process service1
+              --s2.<property>=value       property for the in-process service2
+            """.formatted(DEFAULT_MIX);
+
+    static LoadTestOptions parse(String[] args) {
+        Model model = Model.OPEN;
+        int rate = 200;
+        int concurrency = 16;
+        Duration warmup = Duration.ofSeconds(5);
+        Duration duration = Duration.ofSeconds(30);
+        Duration reportInterval = Duration.ofSeconds(5);
+        Duration requestTimeout = Duration.ofSeconds(10);
+        int maxInFlight = 10_000;
+        String mix = DEFAULT_MIX;
+        String target = null;
+        boolean captureStackTraces = true;
+        List<String> service1Args = new ArrayList<>();
+        List<String> service2Args = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if ((name.startsWith("s1.") || name.startsWith("s2."))
+                    && name.substring(3).equals(CAPTURE_STACK_TRACES_PROPERTY)) {
+                throw new IllegalArgumentException(
+                        "Stack trace capture is JVM-wide; use --capture-stack-traces instead of --" + name);
+            }
+            if (name.startsWith("s1.")) {
+                service1Args.add("--" + name.substring(3) + "=" + value);
+                continue;
+            }
+            if (name.startsWith("s2.")) {
+                service2Args.add("--" + name.substring(3) + "=" + value);
+                continue;
+            }
+            switch (name) {
+                case "model" -> model = Model.valueOf(value.toUpperCase(Locale.ROOT));
+                case "rate" -> rate = positive(name, Integer.parseInt(value));
+                case "concurrency" -> concurrency = positive(name, Integer.parseInt(value));
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "report-interval" -> reportInterval = DurationStyle.detectAndParse(value);
+                case "request-timeout" -> requestTimeout = DurationStyle.detectAndParse(value);
+                case "max-in-flight" -> maxInFlight = positive(name, Integer.parseInt(value));
+                case "mix" -> mix = value;
+                case "target" -> target = value;
+                case "capture-stack-traces" -> captureStackTraces = bool(name, value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return new LoadTestOptions(model, rate, concurrency, warmup, duration, reportInterval, requestTimeout,
+                maxInFlight, mix, target, captureStackTraces, List.copyOf(service1Args), List.copyOf(service2Args));
+    }
+
+    private static boolean bool(String name, String value) {
+        if (!value.equals("true") && !value.equals("false")) {
+            throw new IllegalArgumentException("--" + name + " must be true or false");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice among the service1 proxy endpoints, built from a {@code name=weight,...} spec.
+ */
+final class TrafficMix {
+
+    /**
+     * Distinct users {@code /process-order} is called with, so the validation cache and batching
+     * see a realistic share of repeated users. Every tenth user has an invalid email.
+     */
+    private static final int ORDER_USERS = 1000;
+
+    private static final Map<String, Endpoint> ENDPOINTS = new LinkedHashMap<>();
+
+    static {
+        for (String name : List.of("success", "validation-error", "not-found", "business-error",
+                "external-service-error", "internal-error")) {
+            ENDPOINTS.put(name, new Endpoint(name, "GET", "/proxy/" + name));
+        }
+        ENDPOINTS.put("process-order", new Endpoint("process-order", "POST", "/process-order"));
+    }
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private TrafficMix(Endpoint[] endpoints, int[] cumulativeWeights) {
+        this.endpoints = endpoints;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    static TrafficMix parse(String spec) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Endpoint endpoint = ENDPOINTS.get(parts[0]);
+            if (parts.length != 2 || endpoint == null) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected name=weight with name one of "
+                        + ENDPOINTS.keySet());
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                endpoints.add(endpoint);
+                weights.add(weight);
+            }
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no endpoint with a positive weight: " + spec);
+        }
+        int[] cumulative = new int[weights.size()];
+        int sum = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += weights.get(i);
+            cumulative[i] = sum;
+        }
+        return new TrafficMix(endpoints.toArray(new Endpoint[0]), cumulative);
+    }
+
+    List<Endpoint> endpoints() {
+        return List.of(endpoints);
+    }
+
+    Endpoint next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    record Endpoint(String name, String method, String path) {
+
+        HttpRequest request(String baseUrl, Duration timeout) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+            if ("POST".equals(method)) {
+                return builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(orderBody()))
+                        .build();
+            }
+            return builder.GET().build();
+        }
+
+        private static String orderBody() {
+            int user = ThreadLocalRandom.current().nextInt(ORDER_USERS);
+            String email = user % 10 == 0 ? "user" + user + ".example.com" : "user" + user + "@example.com";
+            return "{\"email\":\"" + email + "\",\"productId\":\"P-" + user + "\",\"name\":\"User " + user + "\"}";
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.service1.config;
+
+import com.example.service1.service.RelayedBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link RelayedBody} in whatever content type service2 answered with, which the relay
+ * sets on the response entity.
+ */
+public class RelayedBodyConverter extends AbstractHttpMessageConverter<RelayedBody> {
+
+    public RelayedBodyConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RelayedBody.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RelayedBody readInternal(Class<? extends RelayedBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Relayed bodies are write-only", inputMessage);
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, RelayedBody body, MediaType contentType) {
+        // Content type and length come from service2's response; MediaType.ALL is not a content type
+        if (headers.getContentType() == null && contentType != null && contentType.isConcrete()) {
+            headers.setContentType(contentType);
+        }
+    }
+
+    @Override
+    protected void writeInternal(RelayedBody body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody());
+    }
+}
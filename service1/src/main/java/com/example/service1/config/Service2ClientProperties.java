@@ -0,0 +1,548 @@
+package com.example.service1.config;
+
+import com.example.errorcontract.web.WireFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Transport settings for the service1 → service2 WebClient, bound from {@code service2.client.*}.
+ */
+@ConfigurationProperties(prefix = "service2.client")
+public class Service2ClientProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+    private boolean keepAlive = true;
+    private boolean http2Enabled = false;
+    private boolean metricsEnabled = true;
+    private DataSize maxErrorBodySize = DataSize.ofKilobytes(16);
+    private WireFormat wireFormat = WireFormat.JSON;
+    private boolean compressionEnabled = true;
+    private final Pool pool = new Pool();
+    private final CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+    private final Retry retry = new Retry();
+    private final Hedging hedging = new Hedging();
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    private final BulkheadProperties bulkhead = new BulkheadProperties();
+    private final Coalescing coalescing = new Coalescing();
+    private final Batching batching = new Batching();
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public DataSize getMaxErrorBodySize() {
+        return maxErrorBodySize;
+    }
+
+    public void setMaxErrorBodySize(DataSize maxErrorBodySize) {
+        this.maxErrorBodySize = maxErrorBodySize;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public CircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public BulkheadProperties getBulkhead() {
+        return bulkhead;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public Batching getBatching() {
+        return batching;
+    }
+
+    public static class Pool {
+        private int maxConnections = 200;
+        private int pendingAcquireMaxCount = 1000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private int http2MaxConcurrentStreams = 100;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictInBackground() {
+            return evictInBackground;
+        }
+
+        public void setEvictInBackground(Duration evictInBackground) {
+            this.evictInBackground = evictInBackground;
+        }
+
+        public int getHttp2MaxConcurrentStreams() {
+            return http2MaxConcurrentStreams;
+        }
+
+        public void setHttp2MaxConcurrentStreams(int http2MaxConcurrentStreams) {
+            this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+        }
+    }
+
+    public static class CircuitBreakerProperties {
+        private boolean enabled = true;
+        private float failureRateThreshold = 50f;
+        private float slowCallRateThreshold = 80f;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private int minimumNumberOfCalls = 20;
+        private Duration slidingWindow = Duration.ofSeconds(10);
+        private int slidingWindowBuckets = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(5);
+        private int permittedCallsInHalfOpenState = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public Duration getSlidingWindow() {
+            return slidingWindow;
+        }
+
+        public void setSlidingWindow(Duration slidingWindow) {
+            this.slidingWindow = slidingWindow;
+        }
+
+        public int getSlidingWindowBuckets() {
+            return slidingWindowBuckets;
+        }
+
+        public void setSlidingWindowBuckets(int slidingWindowBuckets) {
+            this.slidingWindowBuckets = slidingWindowBuckets;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+    }
+
+    /**
+     * Retries for idempotent GETs. Retries and hedged requests share one budget.
+     */
+    public static class Retry {
+        private boolean enabled = false;
+        private int maxRetries = 2;
+        private Duration minBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofMillis(500);
+        private double jitter = 0.5;
+        private double budgetRatio = 0.1;
+        private int budgetInitialTokens = 10;
+        private int budgetMaxTokens = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getMinBackoff() {
+            return minBackoff;
+        }
+
+        public void setMinBackoff(Duration minBackoff) {
+            this.minBackoff = minBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getBudgetInitialTokens() {
+            return budgetInitialTokens;
+        }
+
+        public void setBudgetInitialTokens(int budgetInitialTokens) {
+            this.budgetInitialTokens = budgetInitialTokens;
+        }
+
+        public int getBudgetMaxTokens() {
+            return budgetMaxTokens;
+        }
+
+        public void setBudgetMaxTokens(int budgetMaxTokens) {
+            this.budgetMaxTokens = budgetMaxTokens;
+        }
+    }
+
+    /**
+     * Hedged GETs: a second attempt is sent once the first has been outstanding for longer
+     * than the endpoint's recent latency percentile.
+     */
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private int minSamples = 50;
+        private int sampleSize = 512;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public int getSampleSize() {
+            return sampleSize;
+        }
+
+        public void setSampleSize(int sampleSize) {
+            this.sampleSize = sampleSize;
+        }
+    }
+
+    public static class ConcurrencyLimit {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 500;
+        private int probeInterval = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getProbeInterval() {
+            return probeInterval;
+        }
+
+        public void setProbeInterval(int probeInterval) {
+            this.probeInterval = probeInterval;
+        }
+    }
+
+    /**
+     * Fixed cap on calls in flight to service2 across all endpoints. Independent of the adaptive
+     * concurrency limit, so calls stay bounded when that is turned off.
+     */
+    public static class BulkheadProperties {
+        private boolean enabled = true;
+        private int maxConcurrentCalls = 200;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+
+    /**
+     * Single-flight for GETs: concurrent calls to the same endpoint with the same headers share
+     * one downstream request.
+     */
+    public static class Coalescing {
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Micro-batching of user validations: concurrent calls are sent to {@code /validate-users}
+     * together once {@code maxBatchSize} items are collected or {@code maxDelay} has passed.
+     */
+    public static class Batching {
+        private boolean enabled = true;
+        private int maxBatchSize = 50;
+        private Duration maxDelay = Duration.ofMillis(5);
+        private int maxConcurrentBatches = 16;
+        private int maxPending = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public int getMaxConcurrentBatches() {
+            return maxConcurrentBatches;
+        }
+
+        public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+            this.maxConcurrentBatches = maxConcurrentBatches;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+    }
+}
@@ -1,20 +1,95 @@
 package com.example.service1.config;
 
+import com.example.errorcontract.web.WireFormat;
+import com.example.errorcontract.web.WireFormatCodecs;
+import com.example.service1.resilience.Bulkhead;
+import com.example.service1.resilience.RetryBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(Service2ClientProperties.class)
 public class WebClientConfig {
 
     @Value("${service2.base-url}")
     private String service2BaseUrl;
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider service2ConnectionProvider(Service2ClientProperties properties) {
+        Service2ClientProperties.Pool pool = properties.getPool();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("service2")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                // Registers reactor.netty.connection.provider.{total,active,idle,pending}.connections gauges
+                .metrics(properties.isMetricsEnabled());
+
+        if (properties.isHttp2Enabled()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.getMaxConnections())
+                    .maxConcurrentStreams(pool.getHttp2MaxConcurrentStreams())
+                    .build());
+        }
+        return builder.build();
+    }
+
     @Bean
-    public WebClient service2WebClient() {
+    public WebClient service2WebClient(ConnectionProvider service2ConnectionProvider,
+                                       Service2ClientProperties properties,
+                                       ObjectMapper objectMapper) {
+        HttpClient httpClient = HttpClient.create(service2ConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .keepAlive(properties.isKeepAlive())
+                .responseTimeout(properties.getResponseTimeout());
+
+        if (properties.isHttp2Enabled()) {
+            // h2c with HTTP/1.1 upgrade fallback: multiplexes calls over a few plaintext connections
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        if (properties.isCompressionEnabled()) {
+            // Sends Accept-Encoding: gzip and inflates compressed responses
+            httpClient = httpClient.compress(true);
+        }
+
+        WireFormat wireFormat = properties.getWireFormat();
         return WebClient.builder()
                 .baseUrl(service2BaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> WireFormatCodecs.configureClient(codecs, objectMapper))
+                .defaultHeaders(headers -> {
+                    if (wireFormat != WireFormat.JSON) {
+                        // JSON stays acceptable, e.g. for error pages not produced by the error contract
+                        headers.setAccept(List.of(wireFormat.mediaType(), MediaType.parseMediaType("application/json;q=0.5")));
+                    }
+                })
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public Bulkhead service2Bulkhead(Service2ClientProperties properties) {
+        return new Bulkhead("service2", properties.getBulkhead().getMaxConcurrentCalls());
+    }
+
+    @Bean
+    public RetryBudget service2RetryBudget(Service2ClientProperties properties) {
+        Service2ClientProperties.Retry retry = properties.getRetry();
+        return new RetryBudget(retry.getBudgetRatio(), retry.getBudgetInitialTokens(), retry.getBudgetMaxTokens());
+    }
+}
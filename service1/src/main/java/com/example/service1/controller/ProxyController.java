@@ -1,9 +1,19 @@
 package com.example.service1.controller;
 
-import com.example.service1.exception.CustomExceptions;
+import com.example.errorcontract.dto.SuccessResponse;
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.validation.UserValidationRules;
+import com.example.errorcontract.web.RequestIds;
+import com.example.service1.dto.OrderResponse;
+import com.example.service1.dto.ProxiedSuccessResponse;
 import com.example.service1.service.Service2Client;
+import com.example.service1.service.UserValidationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -15,41 +25,57 @@ public class ProxyController {
     @Autowired
     private Service2Client service2Client;
 
+    @Autowired
+    private UserValidationService userValidationService;
+
+    @Value("${proxy.pass-through.enabled:false}")
+    private boolean passThroughEnabled;
+
     @GetMapping("/proxy/success")
-    public Map<String, Object> proxySuccess() {
-        Map<String, Object> response = service2Client.callService2Get("/success");
-        response.put("proxiedBy", "service1");
-        return response;
+    public Mono<ProxiedSuccessResponse> proxySuccess() {
+        return service2Client.callService2Get("/success", SuccessResponse.class)
+                .map(response -> new ProxiedSuccessResponse(response.message(), response.service(), "service1"));
     }
 
     @GetMapping("/proxy/validation-error")
-    public Map<String, Object> proxyValidationError() {
-        return service2Client.callService2Get("/validation-error");
+    public Mono<?> proxyValidationError(@RequestHeader HttpHeaders headers) {
+        return relayOrCall("/validation-error", headers);
     }
 
     @GetMapping("/proxy/not-found")
-    public Map<String, Object> proxyNotFound() {
-        return service2Client.callService2Get("/not-found");
+    public Mono<?> proxyNotFound(@RequestHeader HttpHeaders headers) {
+        return relayOrCall("/not-found", headers);
     }
 
     @GetMapping("/proxy/business-error")
-    public Map<String, Object> proxyBusinessError() {
-        return service2Client.callService2Get("/business-error");
+    public Mono<?> proxyBusinessError(@RequestHeader HttpHeaders headers) {
+        return relayOrCall("/business-error", headers);
     }
 
     @GetMapping("/proxy/external-service-error")
-    public Map<String, Object> proxyExternalServiceError() {
-        return service2Client.callService2Get("/external-service-error");
+    public Mono<?> proxyExternalServiceError(@RequestHeader HttpHeaders headers) {
+        return relayOrCall("/external-service-error", headers);
     }
 
     @GetMapping("/proxy/internal-error")
-    public Map<String, Object> proxyInternalError() {
-        return service2Client.callService2Get("/internal-error");
+    public Mono<?> proxyInternalError(@RequestHeader HttpHeaders headers) {
+        return relayOrCall("/internal-error", headers);
+    }
+
+    /**
+     * In pass-through mode service2's status and body are relayed to the client as received;
+     * otherwise the body is decoded and errors are re-rendered as {@code DOWNSTREAM_SERVICE_ERROR}.
+     */
+    private Mono<?> relayOrCall(String endpoint, HttpHeaders headers) {
+        if (passThroughEnabled) {
+            return service2Client.relayGet(endpoint, headers.getAccept());
+        }
+        return service2Client.callService2Get(endpoint);
     }
 
     @PostMapping("/proxy/validate-user")
-    public Map<String, Object> proxyValidateUser(@RequestBody Map<String, String> user) {
-        return service2Client.callService2Endpoint("/validate-user", user);
+    public Mono<UserValidationResult> proxyValidateUser(@RequestBody Map<String, String> user) {
+        return service2Client.validateUser(user);
     }
 
     @GetMapping("/local-validation-error")
@@ -69,7 +95,7 @@ public class ProxyController {
     }
 
     @PostMapping("/process-order")
-    public Map<String, Object> processOrder(@RequestBody Map<String, Object> orderData) {
+    public Mono<OrderResponse> processOrder(@RequestBody Map<String, Object> orderData) {
         String email = (String) orderData.get("email");
         String productId = (String) orderData.get("productId");
         
@@ -89,17 +115,16 @@ public class ProxyController {
             );
         }
         
-        Map<String, String> userValidation = Map.of(
-            "email", email,
-            "name", (String) orderData.getOrDefault("name", "")
-        );
+        String name = (String) orderData.getOrDefault("name", "");
         
-        Map<String, Object> validationResult = service2Client.callService2Endpoint("/validate-user", userValidation);
+        // Reject what service2 would reject anyway without paying for the round trip
+        UserValidationRules.validate(email, name);
         
-        return Map.of(
-            "message", "Order processed successfully",
-            "orderId", "ORD-" + System.currentTimeMillis(),
-            "userValidation", validationResult
-        );
+        return userValidationService.validate(email, name)
+                .map(validationResult -> new OrderResponse(
+                    "Order processed successfully",
+                    "ORD-" + RequestIds.next(),
+                    validationResult
+                ));
     }
 }
\ No newline at end of file
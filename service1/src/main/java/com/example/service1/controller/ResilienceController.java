@@ -0,0 +1,47 @@
+package com.example.service1.controller;
+
+import com.example.service1.resilience.AdaptiveConcurrencyLimiter;
+import com.example.service1.resilience.Bulkhead;
+import com.example.service1.resilience.CircuitBreaker;
+import com.example.service1.resilience.CircuitBreakerRegistry;
+import com.example.service1.resilience.ConcurrencyLimiterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/internal")
+public class ResilienceController {
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    @Autowired
+    private Bulkhead bulkhead;
+
+    @GetMapping("/circuit-breakers")
+    public List<CircuitBreaker.Snapshot> circuitBreakers() {
+        return circuitBreakerRegistry.getAll().stream()
+                .map(CircuitBreaker::snapshot)
+                .sorted(Comparator.comparing(CircuitBreaker.Snapshot::name))
+                .toList();
+    }
+
+    @GetMapping("/concurrency-limits")
+    public List<AdaptiveConcurrencyLimiter.Snapshot> concurrencyLimits() {
+        return concurrencyLimiterRegistry.getAll().stream()
+                .map(AdaptiveConcurrencyLimiter::snapshot)
+                .sorted(Comparator.comparing(AdaptiveConcurrencyLimiter.Snapshot::name))
+                .toList();
+    }
+
+    @GetMapping("/bulkhead")
+    public Bulkhead.Snapshot bulkhead() {
+        return bulkhead.snapshot();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.service1.dto;
+
+import com.example.errorcontract.dto.UserValidationResult;
+
+/**
+ * Body of a processed order.
+ */
+public record OrderResponse(String message, String orderId, UserValidationResult userValidation) {
+}
@@ -0,0 +1,7 @@
+package com.example.service1.dto;
+
+/**
+ * A service2 success body relayed by service1, marked with the proxy that relayed it.
+ */
+public record ProxiedSuccessResponse(String message, String service, String proxiedBy) {
+}
@@ -1,9 +1,19 @@
 package com.example.service1.exception;
 
-import com.example.service1.dto.ErrorResponse;
+import com.example.errorcontract.dto.ErrorResponse;
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.DownstreamStatusMapping;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.exception.ErrorResponseTemplates;
+import com.example.errorcontract.logging.ErrorLogSampler;
+import com.example.errorcontract.metrics.ErrorMetrics;
+import com.example.errorcontract.metrics.RecentErrors;
+import com.example.errorcontract.web.RequestContext;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,13 +21,28 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    @Autowired
+    private ErrorResponseTemplates templates;
+
+    @Autowired
+    private ErrorMetrics errorMetrics;
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private RecentErrors recentErrors;
+
+    /**
+     * Downstream errors carry a per-request details map (downstream request ID), so they opt out
+     * of the pre-encoded templates and are serialized as a full {@link ErrorResponse}.
+     */
     @ExceptionHandler(CustomExceptions.DownstreamServiceException.class)
     public ResponseEntity<ErrorResponse> handleDownstreamServiceException(
             CustomExceptions.DownstreamServiceException ex, HttpServletRequest request) {
@@ -29,9 +54,15 @@ public class GlobalExceptionHandler {
         details.put("serviceName", ex.getServiceName());
         details.put("downstreamStatusCode", ex.getStatusCode());
         details.put("downstreamError", ex.getDownstreamError());
+        if (ex.getDownstreamErrorCode() != null) {
+            details.put("downstreamErrorCode", ex.getDownstreamErrorCode());
+        }
+        if (ex.getDownstreamRequestId() != null) {
+            details.put("downstreamRequestId", ex.getDownstreamRequestId());
+        }
         
         ErrorResponse errorResponse = new ErrorResponse(
-            "DOWNSTREAM_SERVICE_ERROR",
+            ex.getErrorCode(),
             ex.getMessage(),
             requestId,
             request.getRequestURI(),
@@ -39,77 +70,105 @@ public class GlobalExceptionHandler {
         );
 
         
-        HttpStatus status = mapDownstreamStatusToUpstream(ex.getStatusCode());
+        HttpStatus status = resolveDownstreamStatus(ex);
+        errorMetrics.increment(ex.getErrorCode(), status, request);
+        recentErrors.record(ex.getErrorCode(), status, request, requestId, ex.getStatusCode());
         return ResponseEntity.status(status).body(errorResponse);
     }
 
     @ExceptionHandler(CustomExceptions.ValidationException.class)
-    public ResponseEntity<ErrorResponse> handleValidationException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleValidationException(
             CustomExceptions.ValidationException ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        Map<String, Object> details = new HashMap<>();
-        details.put("field", ex.getField());
-        details.put("reason", ex.getReason());
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            "VALIDATION_ERROR",
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.VALIDATION_ERROR.code(),
             ex.getMessage(),
-            requestId,
-            request.getRequestURI(),
-            details
+            "field", ex.getField(),
+            "reason", ex.getReason()
         );
         
         logger.warn("Validation error: {} | Request ID: {}", ex.getMessage(), requestId);
-        return ResponseEntity.badRequest().body(errorResponse);
+        recordError(ErrorCode.VALIDATION_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.VALIDATION_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
+    }
+
+    @ExceptionHandler(CustomExceptions.ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleResourceNotFoundException(
+            CustomExceptions.ResourceNotFoundException ex, HttpServletRequest request) {
+        String requestId = getRequestId(request);
+        
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.RESOURCE_NOT_FOUND.code(),
+            ex.getMessage(),
+            "resourceType", ex.getResourceType(),
+            "resourceId", ex.getResourceId()
+        );
+        
+        logger.warn("Resource not found: {} | Request ID: {}", ex.getMessage(), requestId);
+        recordError(ErrorCode.RESOURCE_NOT_FOUND, request, requestId);
+        return ResponseEntity.status(ErrorCode.RESOURCE_NOT_FOUND.status()).body(template.render(requestId, request.getRequestURI()));
     }
 
     @ExceptionHandler(CustomExceptions.BusinessLogicException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessLogicException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleBusinessLogicException(
             CustomExceptions.BusinessLogicException ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        ErrorResponse errorResponse = new ErrorResponse(
-            "BUSINESS_LOGIC_ERROR",
-            ex.getMessage(),
-            requestId,
-            request.getRequestURI()
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.BUSINESS_LOGIC_ERROR.code(),
+            ex.getMessage()
         );
         
         logger.warn("Business logic error: {} | Request ID: {}", ex.getMessage(), requestId);
-        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+        recordError(ErrorCode.BUSINESS_LOGIC_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.BUSINESS_LOGIC_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
+    }
+
+    @ExceptionHandler(CustomExceptions.ExternalServiceException.class)
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleExternalServiceException(
+            CustomExceptions.ExternalServiceException ex, HttpServletRequest request) {
+        String requestId = getRequestId(request);
+        
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.EXTERNAL_SERVICE_ERROR.code(),
+            ex.getMessage(),
+            "serviceName", ex.getServiceName()
+        );
+        
+        logger.error("External service error: {} | Request ID: {}", ex.getMessage(), requestId);
+        recordError(ErrorCode.EXTERNAL_SERVICE_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.EXTERNAL_SERVICE_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleGenericException(
             Exception ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        ErrorResponse errorResponse = new ErrorResponse(
-            "INTERNAL_SERVER_ERROR",
-            "An unexpected error occurred",
-            requestId,
-            request.getRequestURI()
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.INTERNAL_SERVER_ERROR.code(),
+            "An unexpected error occurred"
         );
         
-        logger.error("Unexpected error: {} | Request ID: {}", ex.getMessage(), requestId, ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        errorLogSampler.error(logger, ex, "Unexpected error: {} | Request ID: {}", ex.getMessage(), requestId);
+        recordError(ErrorCode.INTERNAL_SERVER_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.INTERNAL_SERVER_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
+    }
+
+    private void recordError(ErrorCode errorCode, HttpServletRequest request, String requestId) {
+        errorMetrics.increment(errorCode, request);
+        recentErrors.record(errorCode.code(), errorCode.status(), request, requestId);
     }
 
     private String getRequestId(HttpServletRequest request) {
-        String requestId = request.getHeader("X-Request-ID");
-        if (requestId == null || requestId.isEmpty()) {
-            requestId = UUID.randomUUID().toString();
-        }
-        return requestId;
+        return RequestContext.requestId(request);
     }
 
-    private HttpStatus mapDownstreamStatusToUpstream(int downstreamStatus) {
-        return switch (downstreamStatus) {
-            case 400, 422 -> HttpStatus.BAD_REQUEST;
-            case 404 -> HttpStatus.NOT_FOUND;
-            case 502 -> HttpStatus.BAD_GATEWAY;
-            default -> HttpStatus.INTERNAL_SERVER_ERROR;
-        };
+    private HttpStatus resolveDownstreamStatus(CustomExceptions.DownstreamServiceException ex) {
+        ErrorCode errorCode = ErrorCode.fromCode(ex.getErrorCode());
+        return errorCode != null
+            ? errorCode.status(ex.getStatusCode())
+            : DownstreamStatusMapping.toUpstream(ex.getStatusCode());
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.example.service1.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, from the JDK's
+ * {@code jdk.VirtualThreadPinned} JFR event. A virtual thread is pinned while it holds a monitor
+ * ({@code synchronized}) or has a native frame on its stack; if it blocks there for longer than
+ * {@code threshold}, the carrier is blocked with it.
+ * <p>
+ * Every event is timed in {@code jvm.threads.virtual.pinned}, tagged with its reason, and the
+ * first event from each call site is logged with its stack. The event only exists on Java 21
+ * and later; on older runtimes the monitor does nothing.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry registry;
+    private final Duration threshold;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry, Duration threshold) {
+        this.registry = registry;
+        this.threshold = threshold;
+    }
+
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            logger.warn("Virtual thread pinning is not monitored: Java {} has no virtual threads", Runtime.version().feature());
+            return;
+        }
+        timer("monitor");
+        timer("native");
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        logger.info("Monitoring virtual thread pinning over {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        String reason = reason(event);
+        timer(reason).record(event.getDuration());
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || reportedSites.size() >= MAX_REPORTED_SITES) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (reportedSites.add(site(frames))) {
+            StringBuilder stack = new StringBuilder();
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+                stack.append("\n\tat ").append(describe(frames.get(i)));
+            }
+            logger.warn("Virtual thread pinned ({}) for {} ms{}", reason, event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private Timer timer(String reason) {
+        return timers.computeIfAbsent(reason, key -> Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier, by reason")
+                .tag("reason", key)
+                .register(registry));
+    }
+
+    /**
+     * Java 24 and later name the reason; before that a native frame on the stack means native
+     * code and anything else a held monitor.
+     */
+    private static String reason(RecordedEvent event) {
+        if (event.hasField("pinnedReason")) {
+            String pinnedReason = event.getString("pinnedReason");
+            if (pinnedReason != null) {
+                String lower = pinnedReason.toLowerCase(Locale.ROOT);
+                return lower.contains("native") ? "native" : lower.contains("monitor") ? "monitor" : "other";
+            }
+        }
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace != null) {
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                if (!frame.isJavaFrame() || "Native".equals(frame.getType())) {
+                    return "native";
+                }
+            }
+        }
+        return "monitor";
+    }
+
+    /**
+     * The first frame outside the JDK, where application or library code pinned the thread.
+     */
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
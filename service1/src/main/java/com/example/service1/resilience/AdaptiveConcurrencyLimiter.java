@@ -0,0 +1,147 @@
+package com.example.service1.resilience;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vegas-style adaptive limit on the number of in-flight calls to one downstream endpoint.
+ * <p>
+ * The limiter keeps the lowest RTT seen as an estimate of the no-load latency and compares every
+ * sample against it to estimate how many requests are queued downstream:
+ * {@code queue = limit * (1 - rttNoLoad / rtt)}. A small queue grows the limit, a large one
+ * shrinks it, and dropped calls (timeouts, 5xx, transport errors) shrink it immediately. The
+ * no-load RTT is periodically re-probed so the estimate can follow a downstream whose baseline
+ * latency has moved. All state is held in atomics; acquiring a permit is a single CAS.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicLong rttNoLoad = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(String name, Config config) {
+        this.name = name;
+        this.minLimit = config.minLimit();
+        this.maxLimit = config.maxLimit();
+        this.probeInterval = config.probeInterval();
+        this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, config.initialLimit())));
+    }
+
+    /**
+     * Reserves an in-flight slot.
+     *
+     * @return the slot, to be released through one of its callbacks, or {@code null} when the
+     * limit is reached
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit();
+            }
+        }
+    }
+
+    private void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        long sample = samples.incrementAndGet();
+        if (sample % probeInterval == 0) {
+            // Forget the old baseline so a permanently slower downstream does not look congested forever
+            rttNoLoad.set(rttNanos);
+        } else {
+            rttNoLoad.accumulateAndGet(rttNanos, Math::min);
+        }
+        long noLoad = rttNoLoad.get();
+        limit.updateAndGet(current -> nextLimit(current, noLoad, rttNanos, inFlightAtCompletion));
+    }
+
+    private void onDropped() {
+        inFlight.decrementAndGet();
+        limit.updateAndGet(current -> clamp(current - log10(current)));
+    }
+
+    public Snapshot snapshot() {
+        long noLoad = rttNoLoad.get();
+        return new Snapshot(name, limit.get(), inFlight.get(), rejected.get(),
+                noLoad == Long.MAX_VALUE ? 0 : noLoad / 1_000);
+    }
+
+    private int nextLimit(int current, long noLoad, long rtt, int inFlightAtCompletion) {
+        // Application-limited: not enough traffic to learn anything about the downstream
+        if (inFlightAtCompletion * 2 < current) {
+            return current;
+        }
+        int queue = (int) Math.ceil(current * (1 - (double) noLoad / Math.max(rtt, 1)));
+        int threshold = log10(current);
+        int alpha = 3 * threshold;
+        int beta = 6 * threshold;
+
+        if (queue <= threshold) {
+            return clamp(current + beta);
+        } else if (queue < alpha) {
+            return clamp(current + threshold);
+        } else if (queue > beta) {
+            return clamp(current - threshold);
+        }
+        return current;
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    private static int log10(int value) {
+        return Math.max(1, (int) Math.log10(value));
+    }
+
+    /**
+     * An acquired in-flight slot. Only the first of its callbacks releases it, so a completion
+     * racing a cancellation cannot release the slot twice.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void onSuccess(long rttNanos) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.onSuccess(rttNanos);
+            }
+        }
+
+        public void onDropped() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.onDropped();
+            }
+        }
+
+        /**
+         * Releases the slot without feeding the sample into the estimator, e.g. for cancelled calls.
+         */
+        public void onIgnore() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    public record Snapshot(String name, int limit, int inFlight, long rejected, long rttNoLoadMicros) {
+    }
+
+    public record Config(int initialLimit, int minLimit, int maxLimit, int probeInterval) {
+    }
+}
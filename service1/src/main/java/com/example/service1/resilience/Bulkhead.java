@@ -0,0 +1,55 @@
+package com.example.service1.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed cap on the calls in flight to one downstream, held as semaphore permits. With platform
+ * request threads the size of Tomcat's pool capped this implicitly; virtual threads do not, so
+ * without the bulkhead a burst would turn into an unbounded number of downstream calls. Calls
+ * over the cap are rejected rather than queued.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Takes a permit without waiting. Every successful acquire must be followed by exactly one
+     * {@link #release}.
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int inFlight() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, maxConcurrentCalls, inFlight(), rejected());
+    }
+
+    public record Snapshot(String name, int maxConcurrentCalls, int inFlight, long rejected) {
+    }
+}
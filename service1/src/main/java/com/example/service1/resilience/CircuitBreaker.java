@@ -0,0 +1,215 @@
+package com.example.service1.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free circuit breaker guarding a single downstream endpoint.
+ * <p>
+ * Outcomes are recorded into a time-based sliding window of immutable buckets that are
+ * replaced with compare-and-set, so recording never blocks the calling thread. The breaker
+ * opens when either the failure rate or the slow-call rate crosses its threshold, rejects
+ * calls while open, and lets a limited number of trial calls through once half-open. Only those
+ * trials decide whether a half-open breaker closes; calls let through before it opened are
+ * ignored when they complete.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** Outcome of {@link #tryAcquirePermission()}: whether, and as what, a call may proceed. */
+    public enum Permission {
+        DENIED, PERMITTED, TRIAL;
+
+        public boolean isGranted() {
+            return this != DENIED;
+        }
+    }
+
+    private final String name;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final int minimumNumberOfCalls;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpen;
+    private final long bucketNanos;
+
+    private final AtomicReferenceArray<Bucket> window;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenCalls = new AtomicInteger();
+    private final AtomicInteger halfOpenFailures = new AtomicInteger();
+
+    public CircuitBreaker(String name, Config config) {
+        this.name = name;
+        this.failureRateThreshold = config.failureRateThreshold();
+        this.slowCallRateThreshold = config.slowCallRateThreshold();
+        this.slowCallDurationNanos = config.slowCallDurationNanos();
+        this.minimumNumberOfCalls = config.minimumNumberOfCalls();
+        this.waitInOpenNanos = config.waitInOpenNanos();
+        this.permittedCallsInHalfOpen = config.permittedCallsInHalfOpen();
+        this.bucketNanos = config.windowNanos() / config.windowBuckets();
+        this.window = new AtomicReferenceArray<>(config.windowBuckets());
+    }
+
+    /**
+     * Returns whether a call may proceed, and whether it is a half-open trial. Every granted
+     * permission must be handed back with exactly one {@link #onResult} or
+     * {@link #releasePermission}.
+     */
+    public Permission tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return Permission.PERMITTED;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAt.get() < waitInOpenNanos) {
+                return Permission.DENIED;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                halfOpenPermits.set(permittedCallsInHalfOpen);
+                halfOpenCalls.set(0);
+                halfOpenFailures.set(0);
+            }
+        }
+        // HALF_OPEN: hand out the remaining trial permits
+        while (true) {
+            int permits = halfOpenPermits.get();
+            if (permits <= 0) {
+                return state.get() == State.CLOSED ? Permission.PERMITTED : Permission.DENIED;
+            }
+            if (halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return Permission.TRIAL;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permission without recording an outcome, e.g. when the caller cancelled.
+     */
+    public void releasePermission(Permission permission) {
+        if (permission == Permission.TRIAL && state.get() == State.HALF_OPEN) {
+            halfOpenPermits.incrementAndGet();
+        }
+    }
+
+    public void onResult(Permission permission, long durationNanos, boolean failure) {
+        boolean slow = durationNanos >= slowCallDurationNanos;
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (permission == Permission.TRIAL) {
+                recordHalfOpen(failure || slow);
+            }
+            return;
+        }
+        if (current == State.OPEN) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        record(now, failure, slow);
+        Snapshot snapshot = aggregate(now);
+        if (snapshot.calls() >= minimumNumberOfCalls
+                && (snapshot.failureRate() >= failureRateThreshold
+                    || snapshot.slowCallRate() >= slowCallRateThreshold)) {
+            transitionToOpen(State.CLOSED);
+        }
+    }
+
+    public State getState() {
+        State current = state.get();
+        if (current == State.OPEN && System.nanoTime() - openedAt.get() >= waitInOpenNanos) {
+            return State.HALF_OPEN;
+        }
+        return current;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Snapshot snapshot() {
+        return aggregate(System.nanoTime());
+    }
+
+    private void recordHalfOpen(boolean failure) {
+        if (failure) {
+            halfOpenFailures.incrementAndGet();
+        }
+        int calls = halfOpenCalls.incrementAndGet();
+        if (calls < permittedCallsInHalfOpen) {
+            return;
+        }
+        float failureRate = halfOpenFailures.get() * 100f / calls;
+        if (failureRate >= failureRateThreshold) {
+            transitionToOpen(State.HALF_OPEN);
+        } else if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            for (int i = 0; i < window.length(); i++) {
+                window.set(i, null);
+            }
+        }
+    }
+
+    private void transitionToOpen(State from) {
+        if (state.compareAndSet(from, State.OPEN)) {
+            openedAt.set(System.nanoTime());
+        }
+    }
+
+    private void record(long now, boolean failure, boolean slow) {
+        long epoch = now / bucketNanos;
+        int index = (int) Math.floorMod(epoch, (long) window.length());
+        while (true) {
+            Bucket bucket = window.get(index);
+            Bucket updated = bucket == null || bucket.epoch != epoch
+                    ? new Bucket(epoch, 1, failure ? 1 : 0, slow ? 1 : 0)
+                    : bucket.add(failure, slow);
+            if (window.compareAndSet(index, bucket, updated)) {
+                return;
+            }
+        }
+    }
+
+    private Snapshot aggregate(long now) {
+        long currentEpoch = now / bucketNanos;
+        long oldestEpoch = currentEpoch - window.length() + 1;
+        int calls = 0;
+        int failures = 0;
+        int slowCalls = 0;
+        for (int i = 0; i < window.length(); i++) {
+            Bucket bucket = window.get(i);
+            if (bucket != null && bucket.epoch >= oldestEpoch) {
+                calls += bucket.calls;
+                failures += bucket.failures;
+                slowCalls += bucket.slowCalls;
+            }
+        }
+        return new Snapshot(name, getState(), calls, failures, slowCalls,
+                calls == 0 ? 0f : failures * 100f / calls,
+                calls == 0 ? 0f : slowCalls * 100f / calls);
+    }
+
+    private record Bucket(long epoch, int calls, int failures, int slowCalls) {
+        Bucket add(boolean failure, boolean slow) {
+            return new Bucket(epoch, calls + 1, failures + (failure ? 1 : 0), slowCalls + (slow ? 1 : 0));
+        }
+    }
+
+    public record Snapshot(String name, State state, int calls, int failures, int slowCalls,
+                           float failureRate, float slowCallRate) {
+    }
+
+    public record Config(float failureRateThreshold,
+                         float slowCallRateThreshold,
+                         long slowCallDurationNanos,
+                         int minimumNumberOfCalls,
+                         long windowNanos,
+                         int windowBuckets,
+                         long waitInOpenNanos,
+                         int permittedCallsInHalfOpen) {
+    }
+}
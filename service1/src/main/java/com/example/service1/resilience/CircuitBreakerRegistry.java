@@ -0,0 +1,49 @@
+package com.example.service1.resilience;
+
+import com.example.service1.config.Service2ClientProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link CircuitBreaker} per downstream endpoint so a failing route
+ * cannot trip the breaker for healthy ones.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final CircuitBreaker.Config config;
+    private final boolean enabled;
+
+    public CircuitBreakerRegistry(Service2ClientProperties properties) {
+        Service2ClientProperties.CircuitBreakerProperties cb = properties.getCircuitBreaker();
+        this.enabled = cb.isEnabled();
+        this.config = new CircuitBreaker.Config(
+                cb.getFailureRateThreshold(),
+                cb.getSlowCallRateThreshold(),
+                cb.getSlowCallDuration().toNanos(),
+                cb.getMinimumNumberOfCalls(),
+                cb.getSlidingWindow().toNanos(),
+                cb.getSlidingWindowBuckets(),
+                cb.getWaitDurationInOpenState().toNanos(),
+                cb.getPermittedCallsInHalfOpenState());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CircuitBreaker forEndpoint(String endpoint) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        if (breaker != null) {
+            return breaker;
+        }
+        return breakers.computeIfAbsent(endpoint, name -> new CircuitBreaker(name, config));
+    }
+
+    public Collection<CircuitBreaker> getAll() {
+        return breakers.values();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.service1.resilience;
+
+import com.example.service1.config.Service2ClientProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partitions outbound concurrency by endpoint: each endpoint adapts its own limit, so a burst
+ * of {@code /validate-user} calls cannot use up the slots of the {@code /proxy/*} routes.
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    private final ConcurrentHashMap<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final AdaptiveConcurrencyLimiter.Config config;
+    private final boolean enabled;
+
+    public ConcurrencyLimiterRegistry(Service2ClientProperties properties) {
+        Service2ClientProperties.ConcurrencyLimit cl = properties.getConcurrencyLimit();
+        this.enabled = cl.isEnabled();
+        this.config = new AdaptiveConcurrencyLimiter.Config(
+                cl.getInitialLimit(),
+                cl.getMinLimit(),
+                cl.getMaxLimit(),
+                cl.getProbeInterval());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AdaptiveConcurrencyLimiter forEndpoint(String endpoint) {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpoint);
+        if (limiter != null) {
+            return limiter;
+        }
+        return limiters.computeIfAbsent(endpoint, name -> new AdaptiveConcurrencyLimiter(name, config));
+    }
+
+    public Collection<AdaptiveConcurrencyLimiter> getAll() {
+        return limiters.values();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.service1.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent successful call latencies for one endpoint in a fixed-size ring and
+ * derives a percentile from them. Recording is a single array store; the percentile is
+ * recomputed at most once per refresh interval and cached, so readers on the hot path only
+ * pay for a volatile read.
+ */
+public class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong cursor = new AtomicLong();
+    private final double percentile;
+    private final long refreshNanos;
+
+    private volatile long cachedValue = -1;
+    private volatile long cachedAt;
+
+    public LatencyTracker(int size, double percentile, long refreshNanos) {
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+        this.refreshNanos = refreshNanos;
+    }
+
+    public void record(long latencyNanos) {
+        long slot = cursor.getAndIncrement();
+        samples.lazySet((int) (slot % samples.length()), latencyNanos);
+    }
+
+    public long sampleCount() {
+        return Math.min(cursor.get(), samples.length());
+    }
+
+    /**
+     * Returns the tracked percentile in nanoseconds, or {@code -1} if fewer than
+     * {@code minSamples} calls have been recorded.
+     */
+    public long percentileNanos(int minSamples) {
+        int count = (int) sampleCount();
+        if (count < minSamples) {
+            return -1;
+        }
+        long now = System.nanoTime();
+        long value = cachedValue;
+        if (value >= 0 && now - cachedAt < refreshNanos) {
+            return value;
+        }
+        long[] copy = new long[count];
+        for (int i = 0; i < count; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        value = copy[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        cachedValue = value;
+        cachedAt = now;
+        return value;
+    }
+}
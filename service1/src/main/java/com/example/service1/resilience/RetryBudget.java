@@ -0,0 +1,54 @@
+package com.example.service1.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps retries (and hedged requests) to a fraction of regular traffic.
+ * <p>
+ * Every logical call deposits {@code ratio} of a token and every extra attempt withdraws a
+ * whole one, so with a ratio of 0.1 at most one in ten calls can be retried regardless of how
+ * badly the downstream is failing. The balance is capped to keep idle periods from banking an
+ * unbounded burst. Tokens are kept in thousandths so the bucket is a single {@link AtomicLong}.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final AtomicLong balance;
+    private final long deposit;
+    private final long maxBalance;
+
+    public RetryBudget(double ratio, int initialTokens, int maxTokens) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        this.balance = new AtomicLong(Math.min(initialTokens, maxTokens) * SCALE);
+    }
+
+    public void deposit() {
+        while (true) {
+            long current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+            if (balance.compareAndSet(current, Math.min(maxBalance, current + deposit))) {
+                return;
+            }
+        }
+    }
+
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double getAvailableTokens() {
+        return balance.get() / (double) SCALE;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.service1.resilience;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into a single subscription of the underlying call.
+ * Callers arriving while a call is in flight join it and receive its value or error; the entry is
+ * dropped as soon as the call terminates, so nothing outlives the call itself.
+ * <p>
+ * The call runs once, under the Reactor context of the caller that started it: callers joining it
+ * share that caller's request ID and deadline. Callers that need their own deadline enforce it on
+ * the {@code Mono} they get back.
+ * <p>
+ * All callers receive the same value instance, so values must be treated as read-only.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            Mono<V> shared = inFlight.get(key);
+            if (shared == null) {
+                Mono<V> candidate = newFlight(key, call);
+                shared = inFlight.putIfAbsent(key, candidate);
+                if (shared == null) {
+                    executed.increment();
+                    shared = candidate;
+                } else {
+                    joined.increment();
+                }
+            } else {
+                joined.increment();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * A caller that gives up does not cancel the call for the others; only when every caller has
+     * cancelled is the call cancelled, and its entry removed with it. The entry is removed before
+     * the outcome is delivered, which keeps callers arriving afterwards from joining a completed call.
+     */
+    private Mono<V> newFlight(K key, Supplier<Mono<V>> call) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        Mono<V> flight = Mono.defer(call)
+                .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                .doOnCancel(() -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(flight);
+        return flight;
+    }
+
+    /** Calls that went downstream. */
+    public long executed() {
+        return executed.sum();
+    }
+
+    /** Calls that were served by joining an in-flight call. */
+    public long joined() {
+        return joined.sum();
+    }
+
+    /** Fraction of all calls that joined an in-flight call instead of going downstream. */
+    public double coalescingRatio() {
+        long joinedCalls = joined.sum();
+        long total = joinedCalls + executed.sum();
+        return total == 0 ? 0.0 : (double) joinedCalls / total;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.service1.service;
+
+import com.example.errorcontract.web.WireFormat;
+import com.example.service1.config.Service2ClientProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * Pulls {@code error.code}, {@code error.message} and {@code error.requestId} out of a service2
+ * error body in a single streaming pass over the raw bytes. JSON, Smile and CBOR bodies are read
+ * with the same token loop, picked by the response content type.
+ * <p>
+ * No object tree or intermediate String of the body is built: unrelated members such as
+ * {@code details} are skipped token by token and parsing stops as soon as the three fields have
+ * been seen. Malformed bodies yield whatever fields were decoded before the parser gave up.
+ * <p>
+ * Error bodies are read off the connection only up to {@code max-error-body-size} (see
+ * {@link #readException}), so a large error page is never buffered in full; reading stops at
+ * the cap, which costs the connection instead of draining the rest of the body.
+ */
+@Component
+public class DownstreamErrorDecoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamErrorDecoder.class);
+
+    private final JsonFactory jsonFactory;
+    private final JsonFactory smileFactory = WireFormat.SMILE.newFactory();
+    private final JsonFactory cborFactory = WireFormat.CBOR.newFactory();
+    private final int maxBodySize;
+
+    public DownstreamErrorDecoder(ObjectMapper objectMapper, Service2ClientProperties properties) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.maxBodySize = (int) properties.getMaxErrorBodySize().toBytes();
+    }
+
+    /**
+     * Status handler for calls whose error bodies are decoded: builds the
+     * {@link WebClientResponseException} from at most {@code max-error-body-size} bytes of the
+     * body, instead of the codecs' in-memory limit.
+     */
+    public Mono<WebClientResponseException> readException(ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        String reason = status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+        return DataBufferUtils.join(DataBufferUtils.takeUntilByteCount(
+                        response.body(BodyExtractors.toDataBuffers()), maxBodySize))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .onErrorReturn(ex -> !(ex instanceof Error), new byte[0])
+                .map(body -> WebClientResponseException.create(status, reason,
+                        response.headers().asHttpHeaders(), body, null, response.request()));
+    }
+
+    public DownstreamError decode(byte[] body) {
+        return decode(body, null);
+    }
+
+    /**
+     * @param contentType the response content type; bodies without one are read as JSON
+     */
+    public DownstreamError decode(byte[] body, MediaType contentType) {
+        JsonFactory factory = switch (WireFormat.of(contentType)) {
+            case SMILE -> smileFactory;
+            case CBOR -> cborFactory;
+            case JSON -> jsonFactory;
+        };
+        if (body == null || (factory == jsonFactory && !startsLikeJsonObject(body))) {
+            // e.g. an HTML error page from a proxy; not worth a parser and its exception
+            return DownstreamError.EMPTY;
+        }
+        String code = null;
+        String message = null;
+        String requestId = null;
+        try (JsonParser parser = factory.createParser(body, 0, Math.min(body.length, maxBodySize))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return DownstreamError.EMPTY;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"error".equals(field) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String errorField = parser.currentName();
+                    JsonToken errorValue = parser.nextToken();
+                    if (errorValue == JsonToken.VALUE_STRING) {
+                        switch (errorField) {
+                            case "code" -> code = parser.getText();
+                            case "message" -> message = parser.getText();
+                            case "requestId" -> requestId = parser.getText();
+                            default -> { }
+                        }
+                        if (code != null && message != null && requestId != null) {
+                            break;
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                break;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not fully parse error response from Service 2 ({} bytes): {}", body.length, e.getMessage());
+        }
+        return new DownstreamError(code, message, requestId);
+    }
+
+    private static boolean startsLikeJsonObject(byte[] body) {
+        for (byte b : body) {
+            if (b == '{') {
+                return true;
+            }
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The structured part of a service2 error body. Any field may be {@code null} if the body
+     * did not contain it.
+     */
+    public record DownstreamError(String code, String message, String requestId) {
+        static final DownstreamError EMPTY = new DownstreamError(null, null, null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.service1.service;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collects items submitted concurrently into batches of up to {@code maxBatchSize} items, or
+ * whatever arrived within {@code maxDelay}, and resolves each submission with the result at the
+ * same position of the batch response. A failed batch call fails every submission in it, each
+ * with its own exception from {@code failureFor}, so callers never share one instance.
+ * <p>
+ * At most {@code maxPending} submissions wait for a batch to be dispatched; further submissions
+ * fail immediately with a {@link RejectedExecutionException} instead of queueing without bound.
+ */
+public class MicroBatcher<T, R> implements Disposable {
+
+    private final Function<List<T>, Mono<List<R>>> batchCall;
+    private final Function<Throwable, ? extends Throwable> failureFor;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Disposable subscription;
+    private FluxSink<Pending<T, R>> queue;
+
+    private record Pending<T, R>(T item, Sinks.One<R> result) {
+    }
+
+    public MicroBatcher(int maxBatchSize, Duration maxDelay, int maxConcurrentBatches, int maxPending,
+                        Function<List<T>, Mono<List<R>>> batchCall, Function<Throwable, ? extends Throwable> failureFor) {
+        this.batchCall = batchCall;
+        this.failureFor = failureFor;
+        this.maxPending = maxPending;
+        // FluxSink serializes concurrent submitters; fair backpressure keeps batches queued
+        // while all batch calls are in flight, and the pending count bounds that queue
+        this.subscription = Flux.<Pending<T, R>>create(sink -> queue = sink, FluxSink.OverflowStrategy.BUFFER)
+                .bufferTimeout(maxBatchSize, maxDelay, true)
+                .flatMap(this::dispatch, maxConcurrentBatches)
+                .subscribe();
+    }
+
+    public Mono<R> submit(T item) {
+        return Mono.defer(() -> {
+            if (subscription.isDisposed()) {
+                return Mono.error(new IllegalStateException("Batcher is disposed"));
+            }
+            if (pending.incrementAndGet() > maxPending) {
+                pending.decrementAndGet();
+                return Mono.error(new RejectedExecutionException(maxPending + " submissions already waiting for a batch"));
+            }
+            Sinks.One<R> result = Sinks.one();
+            queue.next(new Pending<>(item, result));
+            return result.asMono();
+        });
+    }
+
+    /**
+     * Submissions waiting for their batch to be dispatched.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    private Mono<Void> dispatch(List<Pending<T, R>> batch) {
+        pending.addAndGet(-batch.size());
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T, R> pending : batch) {
+            items.add(pending.item());
+        }
+        return Mono.defer(() -> batchCall.apply(items))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Batch call completed without results")))
+                .flatMap(results -> results.size() == batch.size()
+                        ? Mono.just(results)
+                        : Mono.error(new IllegalStateException(
+                                "Batch of " + batch.size() + " items returned " + results.size() + " results")))
+                .doOnNext(results -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).result().tryEmitValue(results.get(i));
+                    }
+                })
+                .doOnError(ex -> batch.forEach(submission -> submission.result().tryEmitError(failureFor.apply(ex))))
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public void dispose() {
+        queue.complete();
+        subscription.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return subscription.isDisposed();
+    }
+}
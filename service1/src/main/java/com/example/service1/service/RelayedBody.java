@@ -0,0 +1,42 @@
+package com.example.service1.service;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * A service2 response body relayed as received: the buffers are copied to the client as they
+ * arrive and never decoded.
+ */
+public final class RelayedBody {
+
+    private final Flux<DataBuffer> buffers;
+
+    RelayedBody(Flux<DataBuffer> buffers) {
+        this.buffers = buffers.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Copies the body to {@code out} on the calling thread, so a slow client blocks this thread
+     * rather than the connection's event loop. Every buffer is released, also when writing fails.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        try (Stream<DataBuffer> stream = buffers.toStream(1)) {
+            Iterator<DataBuffer> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                DataBuffer buffer = iterator.next();
+                try (InputStream in = buffer.asInputStream()) {
+                    in.transferTo(out);
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            }
+        }
+    }
+}
@@ -1,136 +1,797 @@
 package com.example.service1.service;
 
-import com.example.service1.exception.CustomExceptions;
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.DownstreamStatusMapping;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.logging.ErrorLogSampler;
+import com.example.errorcontract.web.Deadline;
+import com.example.errorcontract.web.RequestContext;
+import com.example.errorcontract.web.RequestIds;
+import com.example.service1.config.Service2ClientProperties;
+import com.example.service1.resilience.AdaptiveConcurrencyLimiter;
+import com.example.service1.resilience.Bulkhead;
+import com.example.service1.resilience.CircuitBreaker;
+import com.example.service1.resilience.CircuitBreakerRegistry;
+import com.example.service1.resilience.ConcurrencyLimiterRegistry;
+import com.example.service1.resilience.LatencyTracker;
+import com.example.service1.resilience.RetryBudget;
+import com.example.service1.resilience.SingleFlight;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ConnectTimeoutException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
 
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-
-@JsonIgnoreProperties(ignoreUnknown = true)
-record ErrorResponse(ErrorDetails error) {}
-
-@JsonIgnoreProperties(ignoreUnknown = true) 
-record ErrorDetails(String message) {}
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class Service2Client {
 
     private static final Logger logger = LoggerFactory.getLogger(Service2Client.class);
 
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<UserValidationResult> USER_VALIDATION_TYPE =
+            ParameterizedTypeReference.forType(UserValidationResult.class);
+
+    private static final ParameterizedTypeReference<ValidationBatchResponse> VALIDATION_BATCH_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final String REQUEST_ID_KEY = RequestContext.MDC_KEY;
+
+    private static final String DEADLINE_KEY = "deadline";
+
+    private static final String PROXIED_BY_HEADER = "X-Proxied-By";
+
+    /**
+     * Response headers a relayed GET passes on. Content-Length and Content-Encoding are absent when
+     * a compressed body is inflated on the way through. X-Request-ID is not among them: the
+     * request filter already sets it, and service2 echoes the same ID back.
+     */
+    private static final List<String> RELAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.RETRY_AFTER);
+
     @Autowired
     private WebClient service2WebClient;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private DownstreamErrorDecoder errorDecoder;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    @Autowired
+    private RetryBudget retryBudget;
+
+    @Autowired
+    private Bulkhead bulkhead;
+
+    @Autowired
+    private Service2ClientProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Service2ClientMetrics clientMetrics;
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    private final ConcurrentHashMap<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+
+    // Coalesced callers share one decoded value; typed results are immutable records and maps are only relayed
+    private final SingleFlight<GetKey, Object> getFlight = new SingleFlight<>();
+
+    private Retry getRetrySpec;
+
+    private MicroBatcher<Map<String, String>, ValidationItem> validationBatcher;
+
+    private record GetKey(String endpoint, Type responseType, Map<String, String> headers) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ValidationBatchResponse(List<ValidationItem> results) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ValidationItem(int status, UserValidationResult result, ItemError error) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ItemError(String code, String message, String requestId) {
+    }
+
+    @PostConstruct
+    void initRetrySpec() {
+        Service2ClientProperties.Retry retry = properties.getRetry();
+        getRetrySpec = Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                // Budget is only consulted for failures that are retryable at all
+                .filter(ex -> isRetryable(ex) && retryBudget.tryWithdraw())
+                .doBeforeRetry(signal -> logger.warn("Retrying Service 2 GET after: {} | Retry: {}",
+                        signal.failure().getMessage(), signal.totalRetries() + 1))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @PostConstruct
+    void initValidationBatcher() {
+        Service2ClientProperties.Batching batching = properties.getBatching();
+        if (batching.isEnabled()) {
+            validationBatcher = new MicroBatcher<>(batching.getMaxBatchSize(), batching.getMaxDelay(),
+                    batching.getMaxConcurrentBatches(), batching.getMaxPending(),
+                    this::validateUserBatch, this::batchFailureFor);
+        }
+    }
+
+    @PreDestroy
+    void disposeValidationBatcher() {
+        if (validationBatcher != null) {
+            validationBatcher.dispose();
+        }
+    }
+
+    @PostConstruct
+    void registerCoalescingMetrics() {
+        FunctionCounter.builder("service2.client.coalescing.calls", getFlight, SingleFlight::executed)
+                .description("Service 2 GETs by coalescing outcome")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("service2.client.coalescing.calls", getFlight, SingleFlight::joined)
+                .description("Service 2 GETs by coalescing outcome")
+                .tag("outcome", "joined")
+                .register(meterRegistry);
+        Gauge.builder("service2.client.coalescing.ratio", getFlight, SingleFlight::coalescingRatio)
+                .description("Fraction of Service 2 GETs served by joining an in-flight call")
+                .register(meterRegistry);
+        Gauge.builder("service2.client.coalescing.in.flight", getFlight, SingleFlight::inFlight)
+                .description("Distinct Service 2 GETs currently in flight")
+                .register(meterRegistry);
+    }
 
-    public Map<String, Object> callService2Endpoint(String endpoint) {
+    @PostConstruct
+    void registerBulkheadMetrics() {
+        if (!properties.getBulkhead().isEnabled()) {
+            return;
+        }
+        Gauge.builder("service2.client.bulkhead.in.flight", bulkhead, Bulkhead::inFlight)
+                .description("Service 2 calls holding a bulkhead permit")
+                .register(meterRegistry);
+        FunctionCounter.builder("service2.client.bulkhead.rejected", bulkhead, Bulkhead::rejected)
+                .description("Service 2 calls rejected because the bulkhead was full")
+                .register(meterRegistry);
+    }
+
+    public Mono<Map<String, Object>> callService2Endpoint(String endpoint) {
         return callService2Endpoint(endpoint, null);
     }
 
-    public Map<String, Object> callService2Endpoint(String endpoint, Map<String, String> body) {
-        String requestId = UUID.randomUUID().toString();
-        
-        try {
+    public Mono<Map<String, Object>> callService2Endpoint(String endpoint, Map<String, String> body) {
+        return withRequestContext(post(endpoint, body, MAP_TYPE));
+    }
+
+    /**
+     * Validates a user against service2. With batching enabled, concurrent validations share one
+     * {@code /validate-users} call; a rejected user fails only its own caller, with the same
+     * {@code DownstreamServiceException} a single {@code /validate-user} call would produce.
+     */
+    public Mono<UserValidationResult> validateUser(Map<String, String> user) {
+        if (validationBatcher == null) {
+            return withRequestContext(post("/validate-user", user, USER_VALIDATION_TYPE));
+        }
+        // The shared batch call cannot carry each caller's deadline, so it is enforced per caller
+        Mono<ValidationItem> item = validationBatcher.submit(user)
+                .onErrorMap(RejectedExecutionException.class, ex -> new CustomExceptions.DownstreamServiceException(
+                    "Service 2 is overloaded, request rejected",
+                    "service2",
+                    503,
+                    "Validation batch queue full: " + ex.getMessage(),
+                    ErrorCode.CONCURRENCY_LIMIT_EXCEEDED.code()
+                ));
+        return withCallerDeadline("/validate-users", item.flatMap(this::toValidationResult));
+    }
+
+    /**
+     * Exception for one submission of a failed validation batch; each caller gets its own copy.
+     */
+    private CustomExceptions.DownstreamServiceException batchFailureFor(Throwable ex) {
+        if (ex instanceof CustomExceptions.DownstreamServiceException failure) {
+            return new CustomExceptions.DownstreamServiceException(failure.getMessage(), failure.getServiceName(),
+                    failure.getStatusCode(), failure.getDownstreamError(), failure.getErrorCode(),
+                    failure.getDownstreamErrorCode(), failure.getDownstreamRequestId());
+        }
+        return toCommunicationException(ex);
+    }
+
+    private Mono<List<ValidationItem>> validateUserBatch(List<Map<String, String>> users) {
+        logger.debug("Sending batch of {} user validations to Service 2", users.size());
+        return post("/validate-users", users, VALIDATION_BATCH_TYPE)
+                .map(response -> response.results() != null ? response.results() : List.of());
+    }
+
+    private Mono<UserValidationResult> toValidationResult(ValidationItem item) {
+        if (item.status() == 200) {
+            return Mono.justOrEmpty(item.result());
+        }
+        ItemError error = item.error() != null ? item.error() : new ItemError(null, null, null);
+        return Mono.error(toDownstreamException(
+                item.status(),
+                new DownstreamErrorDecoder.DownstreamError(error.code(), error.message(), error.requestId()),
+                "Service 2 validation error",
+                error.requestId()));
+    }
+
+    private <R> Mono<R> post(String endpoint, Object body, ParameterizedTypeReference<R> responseType) {
+        return Mono.deferContextual(context -> {
+            String requestId = requestId(context);
+            Deadline deadline = context.getOrDefault(DEADLINE_KEY, null);
             logger.debug("Calling Service 2 endpoint: {} | Request ID: {}", endpoint, requestId);
-            
-            WebClient.RequestHeadersSpec<?> requestSpec;
-            
-            if (body != null) {
-                requestSpec = service2WebClient
-                        .post()
-                        .uri(endpoint)
-                        .header("X-Request-ID", requestId)
-                        .bodyValue(body);
-            } else {
-                requestSpec = service2WebClient
-                        .post()
-                        .uri(endpoint)
-                        .header("X-Request-ID", requestId);
-            }
 
-            Map<String, Object> response = requestSpec
+            WebClient.RequestBodySpec requestSpec = service2WebClient
+                    .post()
+                    .uri(endpoint)
+                    .header(RequestContext.HEADER, requestId)
+                    .httpRequest(httpRequest -> applyDeadline(httpRequest, deadline));
+
+            WebClient.RequestHeadersSpec<?> headersSpec = body != null
+                    ? requestSpec.contentType(properties.getWireFormat().mediaType()).bodyValue(body)
+                    : requestSpec;
+
+            Mono<R> call = headersSpec
                     .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
-
-            logger.debug("Service 2 call successful: {} | Request ID: {}", endpoint, requestId);
-            return response;
-
-        } catch (WebClientResponseException ex) {
-            logger.error("Service 2 error: {} {} | Request ID: {}", ex.getStatusCode(), ex.getResponseBodyAsString(), requestId);
-            
-            String errorMessage = extractErrorMessage(ex.getResponseBodyAsString());
-            throw new CustomExceptions.DownstreamServiceException(
-                "Service 2 returned an error: " + errorMessage,
-                "service2",
-                ex.getStatusCode().value(),
-                ex.getResponseBodyAsString()
-            );
-        } catch (Exception ex) {
-            logger.error("Unexpected error calling Service 2: {} | Request ID: {}", ex.getMessage(), requestId, ex);
-            throw new CustomExceptions.DownstreamServiceException(
-                "Failed to communicate with Service 2",
-                "service2",
-                500,
-                ex.getMessage()
-            );
-        }
-    }
-
-    public Map<String, Object> callService2Get(String endpoint) {
-        String requestId = UUID.randomUUID().toString();
-        
-        try {
+                    .onStatus(HttpStatusCode::isError, errorDecoder::readException)
+                    .bodyToMono(responseType);
+
+            return recorded(endpoint, withDeadline(endpoint, deadline,
+                            withBulkhead(withConcurrencyLimit(endpoint, withCircuitBreaker(endpoint, call)))))
+                    .doOnSuccess(response ->
+                            logger.debug("Service 2 call successful: {} | Request ID: {}", endpoint, requestId))
+                    .onErrorMap(WebClientResponseException.class, ex -> toDownstreamException(ex, "Service 2 error", requestId))
+                    .onErrorMap(Service2Client::isTimeout, ex -> toTimeoutException(endpoint, ex, requestId))
+                    .onErrorMap(ex -> !(ex instanceof CustomExceptions.DownstreamServiceException), ex -> {
+                        errorLogSampler.error(logger, ex, "Unexpected error calling Service 2: {} | Request ID: {}", ex.getMessage(), requestId);
+                        return toCommunicationException(ex);
+                    });
+        });
+    }
+
+    public Mono<Map<String, Object>> callService2Get(String endpoint) {
+        return callService2Get(endpoint, Map.of(), MAP_TYPE);
+    }
+
+    public <T> Mono<T> callService2Get(String endpoint, Class<T> responseType) {
+        return callService2Get(endpoint, Map.of(), ParameterizedTypeReference.forType(responseType));
+    }
+
+    /**
+     * GETs are idempotent, so concurrent calls with the same endpoint, response type and headers
+     * are coalesced into one downstream request whose result or {@code DownstreamServiceException}
+     * all callers share.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> callService2Get(String endpoint, Map<String, String> headers,
+                                       ParameterizedTypeReference<T> responseType) {
+        if (!properties.getCoalescing().isEnabled()) {
+            return withRequestContext(doGet(endpoint, headers, responseType));
+        }
+        Map<String, String> keyHeaders = Map.copyOf(headers);
+        GetKey key = new GetKey(endpoint, responseType.getType(), keyHeaders);
+        // The shared call carries the request ID and deadline of the caller that started it, so
+        // each caller's own deadline is enforced on its subscription
+        return withCallerDeadline(endpoint, withRequestContext((Mono<T>) getFlight.execute(key,
+                () -> doGet(endpoint, keyHeaders, responseType).cast(Object.class))));
+    }
+
+    private <T> Mono<T> doGet(String endpoint, Map<String, String> headers, ParameterizedTypeReference<T> responseType) {
+        return Mono.deferContextual(context -> {
+            String requestId = requestId(context);
+            Deadline deadline = context.getOrDefault(DEADLINE_KEY, null);
             logger.debug("Calling Service 2 GET endpoint: {} | Request ID: {}", endpoint, requestId);
-            
-            Map<String, Object> response = service2WebClient
+
+            Mono<T> call = service2WebClient
+                    .get()
+                    .uri(endpoint)
+                    .headers(httpHeaders -> headers.forEach(httpHeaders::set))
+                    .header(RequestContext.HEADER, requestId)
+                    .httpRequest(httpRequest -> applyDeadline(httpRequest, deadline))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, errorDecoder::readException)
+                    .bodyToMono(responseType);
+
+            Mono<T> attempt = withDeadline(endpoint, deadline,
+                    withBulkhead(withConcurrencyLimit(endpoint, withCircuitBreaker(endpoint, timed(endpoint, call)))));
+
+            return recorded(endpoint, withRetry(withHedging(endpoint, attempt)))
+                    .doOnSuccess(response ->
+                            logger.debug("Service 2 GET call successful: {} | Request ID: {}", endpoint, requestId))
+                    .onErrorMap(WebClientResponseException.class, ex -> toDownstreamException(ex, "Service 2 GET error", requestId))
+                    .onErrorMap(Service2Client::isTimeout, ex -> toTimeoutException(endpoint, ex, requestId))
+                    .onErrorMap(ex -> !(ex instanceof CustomExceptions.DownstreamServiceException), ex -> {
+                        errorLogSampler.error(logger, ex, "Unexpected error calling Service 2 GET: {} | Request ID: {}", ex.getMessage(), requestId);
+                        return toCommunicationException(ex);
+                    });
+        });
+    }
+
+    /**
+     * Relays a service2 GET without decoding it: status, {@link #RELAYED_HEADERS} and body are
+     * passed on as received, in the format {@code accept} asks for, with a {@code X-Proxied-By}
+     * marker added. The call is guarded like any other, but neither coalesced, retried nor hedged,
+     * since a streamed body cannot be shared or replayed.
+     * <p>
+     * Error statuses are relayed the same way, with their bodies streamed rather than read by the
+     * error status handler. The guards and metrics settle when the relayed body ends, not when the
+     * headers arrive: a permit is held while the body streams, and an error status counts as the
+     * failure it is once the body has been passed on.
+     */
+    public Mono<ResponseEntity<RelayedBody>> relayGet(String endpoint, List<MediaType> accept) {
+        return withRequestContext(Mono.deferContextual(context -> {
+            String requestId = requestId(context);
+            Deadline deadline = context.getOrDefault(DEADLINE_KEY, null);
+            logger.debug("Relaying Service 2 GET endpoint: {} | Request ID: {}", endpoint, requestId);
+
+            Sinks.One<ResponseEntity<RelayedBody>> response = Sinks.one();
+            AtomicBoolean delivered = new AtomicBoolean();
+            Disposable.Swap exchange = Disposables.swap();
+
+            // Completes when the relayed body does, so every guard around it spans the whole body
+            Mono<Void> call = service2WebClient
                     .get()
                     .uri(endpoint)
-                    .header("X-Request-ID", requestId)
+                    .headers(httpHeaders -> httpHeaders.setAccept(accept.isEmpty() ? List.of(MediaType.APPLICATION_JSON) : accept))
+                    .header(RequestContext.HEADER, requestId)
+                    .httpRequest(httpRequest -> applyDeadline(httpRequest, deadline))
                     .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
-
-            logger.debug("Service 2 GET call successful: {} | Request ID: {}", endpoint, requestId);
-            return response;
-
-        } catch (WebClientResponseException ex) {
-            logger.error("Service 2 GET error: {} {} | Request ID: {}", ex.getStatusCode(), ex.getResponseBodyAsString(), requestId);
-            
-            String errorMessage = extractErrorMessage(ex.getResponseBodyAsString());
-            throw new CustomExceptions.DownstreamServiceException(
-                "Service 2 returned an error: " + errorMessage,
-                "service2",
-                ex.getStatusCode().value(),
-                ex.getResponseBodyAsString()
-            );
-        } catch (Exception ex) {
-            logger.error("Unexpected error calling Service 2 GET: {} | Request ID: {}", ex.getMessage(), requestId, ex);
-            throw new CustomExceptions.DownstreamServiceException(
-                "Failed to communicate with Service 2",
-                "service2",
-                500,
-                ex.getMessage()
-            );
-        }
-    }
-
-    private String extractErrorMessage(String responseBody) {
-        try {
-            return objectMapper.readValue(responseBody, ErrorResponse.class)
-                    .error().message();
-        } catch (Exception e) {
-            logger.warn("Could not parse error response from Service 2: {}", responseBody);
-        }
-        return "Unknown error from downstream service";
+                    .onStatus(HttpStatusCode::isError, clientResponse -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .flatMap(entity -> {
+                        if (entity.getStatusCode().isError()) {
+                            logger.debug("Relaying Service 2 error: {} {} | Request ID: {}",
+                                    endpoint, entity.getStatusCode().value(), requestId);
+                        }
+                        Sinks.Empty<Void> bodyDone = Sinks.empty();
+                        Flux<DataBuffer> body = entity.getBody()
+                                .doOnComplete(bodyDone::tryEmitEmpty)
+                                .doOnError(bodyDone::tryEmitError)
+                                .doOnCancel(exchange::dispose);
+                        delivered.set(true);
+                        response.tryEmitValue(relayed(entity.getStatusCode(), entity.getHeaders(), new RelayedBody(body)));
+                        return bodyDone.asMono().then(Mono.defer(() -> relayedOutcome(entity)));
+                    });
+
+            exchange.update(recorded(endpoint, withDeadline(endpoint, deadline,
+                            withBulkhead(withConcurrencyLimit(endpoint, withCircuitBreaker(endpoint, call)))))
+                    .contextWrite(context)
+                    .subscribe(null, ex -> {
+                        // Failures after the headers were relayed reach the client through the body
+                        if (!delivered.get()) {
+                            response.tryEmitError(toRelayException(endpoint, ex, requestId));
+                        }
+                    }));
+            return response.asMono().doOnCancel(() -> {
+                if (!delivered.get()) {
+                    exchange.dispose();
+                }
+            });
+        }));
+    }
+
+    /**
+     * A relayed error status, settled as an error once its body has been passed on, so the guards
+     * and metrics classify it like the status of any other call.
+     */
+    private static Mono<Void> relayedOutcome(ResponseEntity<Flux<DataBuffer>> entity) {
+        if (!entity.getStatusCode().isError()) {
+            return Mono.empty();
+        }
+        return Mono.error(WebClientResponseException.create(
+                entity.getStatusCode(), "Relayed error status", entity.getHeaders(), new byte[0], null, null));
+    }
+
+    private CustomExceptions.DownstreamServiceException toRelayException(String endpoint, Throwable ex, String requestId) {
+        if (ex instanceof CustomExceptions.DownstreamServiceException downstream) {
+            return downstream;
+        }
+        if (isTimeout(ex)) {
+            return toTimeoutException(endpoint, ex, requestId);
+        }
+        errorLogSampler.error(logger, ex, "Unexpected error relaying Service 2 GET: {} | Request ID: {}", ex.getMessage(), requestId);
+        return toCommunicationException(ex);
+    }
+
+    private static ResponseEntity<RelayedBody> relayed(HttpStatusCode status, HttpHeaders upstream, RelayedBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : RELAYED_HEADERS) {
+            List<String> values = upstream.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        headers.set(PROXIED_BY_HEADER, "service1");
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    /**
+     * Captures the request ID and deadline of the calling request thread, where they are set, so
+     * the call sends them downstream whichever thread eventually subscribes. Calls made outside a
+     * request, such as micro-batches, get a fresh ID and no deadline.
+     */
+    private static <T> Mono<T> withRequestContext(Mono<T> call) {
+        String requestId = RequestContext.currentRequestId();
+        if (requestId == null) {
+            return call;
+        }
+        Deadline deadline = RequestContext.currentDeadline();
+        return call.contextWrite(deadline != null
+                ? Context.of(REQUEST_ID_KEY, requestId, DEADLINE_KEY, deadline)
+                : Context.of(REQUEST_ID_KEY, requestId));
+    }
+
+    /**
+     * Fails the calling request's subscription to a call shared with other requests once its own
+     * deadline passes, whatever deadline the shared call itself runs under.
+     */
+    static <T> Mono<T> withCallerDeadline(String endpoint, Mono<T> shared) {
+        Deadline deadline = RequestContext.currentDeadline();
+        if (deadline == null) {
+            return shared;
+        }
+        return shared.timeout(Duration.ofNanos(Math.max(0, deadline.remainingNanos())),
+                Mono.error(() -> deadlineExceeded(endpoint)));
+    }
+
+    /**
+     * Fails an attempt without sending it once the request deadline has passed, e.g. before a
+     * retry or hedge, so no work is started that nobody waits for.
+     */
+    private <T> Mono<T> withDeadline(String endpoint, Deadline deadline, Mono<T> attempt) {
+        if (deadline == null) {
+            return attempt;
+        }
+        return Mono.defer(() -> deadline.isExpired() ? Mono.error(deadlineExceeded(endpoint)) : attempt);
+    }
+
+    /**
+     * Sends the remaining budget to service2 and uses it as this attempt's response timeout, so
+     * a hung service2 cannot hold the call past the deadline. The configured response timeout
+     * still applies when it is shorter.
+     */
+    private void applyDeadline(ClientHttpRequest httpRequest, Deadline deadline) {
+        if (deadline == null) {
+            return;
+        }
+        long remainingMillis = Math.max(1, deadline.remainingMillis());
+        httpRequest.getHeaders().set(RequestContext.BUDGET_HEADER, Long.toString(remainingMillis));
+        HttpClientRequest nativeRequest = httpRequest.getNativeRequest();
+        nativeRequest.responseTimeout(Duration.ofMillis(
+                Math.min(remainingMillis, properties.getResponseTimeout().toMillis())));
+    }
+
+    private static String requestId(ContextView context) {
+        return context.hasKey(REQUEST_ID_KEY) ? context.get(REQUEST_ID_KEY) : RequestIds.next();
+    }
+
+    /**
+     * Times the whole call, retries and hedges included, and classifies the outcome before the
+     * failure is mapped for the caller. Cancelled calls are not recorded.
+     */
+    private <T> Mono<T> recorded(String endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(response -> clientMetrics.record(
+                            endpoint, Service2ClientMetrics.Outcome.SUCCESS, System.nanoTime() - start))
+                    .doOnError(ex -> clientMetrics.record(
+                            endpoint, Service2ClientMetrics.outcomeOf(ex), System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Retries idempotent GETs with jittered exponential backoff. Every logical call pays into the
+     * shared retry budget and every retry draws from it, so retries stay a bounded fraction of
+     * traffic even when service2 fails completely.
+     */
+    private <T> Mono<T> withRetry(Mono<T> attempt) {
+        Service2ClientProperties.Retry retry = properties.getRetry();
+        if (!retry.isEnabled() && !properties.getHedging().isEnabled()) {
+            return attempt;
+        }
+        retryBudget.deposit();
+        return retry.isEnabled() ? attempt.retryWhen(getRetrySpec) : attempt;
+    }
+
+    /**
+     * Sends a second attempt once the first has been outstanding longer than the endpoint's
+     * recent latency percentile and keeps whichever finishes first. The primary attempt owns
+     * the outcome: a failed hedge never fails the call, and a failed primary is not masked
+     * by waiting for the hedge.
+     */
+    private <T> Mono<T> withHedging(String endpoint, Mono<T> attempt) {
+        Service2ClientProperties.Hedging hedging = properties.getHedging();
+        if (!hedging.isEnabled()) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            long percentileNanos = latencyTracker(endpoint).percentileNanos(hedging.getMinSamples());
+            if (percentileNanos < 0) {
+                return attempt;
+            }
+            Duration delay = Duration.ofNanos(Math.max(percentileNanos, hedging.getMinDelay().toNanos()));
+            Mono<T> hedge = Mono.delay(delay)
+                    .flatMap(tick -> {
+                        if (!retryBudget.tryWithdraw()) {
+                            return Mono.<T>never();
+                        }
+                        logger.debug("Hedging Service 2 GET endpoint: {} after {} ms", endpoint, delay.toMillis());
+                        return attempt.onErrorResume(ex -> Mono.never());
+                    });
+            return Mono.firstWithSignal(attempt, hedge);
+        });
+    }
+
+    private <T> Mono<T> timed(String endpoint, Mono<T> call) {
+        if (!properties.getHedging().isEnabled()) {
+            return call;
+        }
+        LatencyTracker tracker = latencyTracker(endpoint);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(response -> tracker.record(System.nanoTime() - start));
+        });
+    }
+
+    private LatencyTracker latencyTracker(String endpoint) {
+        LatencyTracker tracker = latencyTrackers.get(endpoint);
+        if (tracker != null) {
+            return tracker;
+        }
+        Service2ClientProperties.Hedging hedging = properties.getHedging();
+        return latencyTrackers.computeIfAbsent(endpoint, key -> new LatencyTracker(
+                hedging.getSampleSize(), hedging.getPercentile(), TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Uses the same status classification as the exception handler: only failures that map to an
+     * upstream 5xx are retried, 4xx answers never are. Transport errors are retryable; calls
+     * rejected locally (e.g. by an open circuit breaker) are not.
+     */
+    private static boolean isRetryable(Throwable ex) {
+        if (ex instanceof WebClientResponseException responseException) {
+            return DownstreamStatusMapping.isRetryable(responseException.getStatusCode().value());
+        }
+        return ex instanceof WebClientRequestException;
+    }
+
+    /**
+     * Holds an in-flight slot of the endpoint's adaptive limiter for the duration of the call and
+     * feeds the RTT back into it. Calls over the limit fail fast instead of queueing.
+     */
+    private <T> Mono<T> withConcurrencyLimit(String endpoint, Mono<T> call) {
+        if (!concurrencyLimiterRegistry.isEnabled()) {
+            return call;
+        }
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiterRegistry.forEndpoint(endpoint);
+        return Mono.defer(() -> {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            if (permit == null) {
+                logger.warn("Concurrency limit reached for Service 2 endpoint: {}", endpoint);
+                return Mono.error(new CustomExceptions.DownstreamServiceException(
+                    "Service 2 is overloaded, request rejected",
+                    "service2",
+                    503,
+                    "Concurrency limit reached for " + endpoint,
+                    ErrorCode.CONCURRENCY_LIMIT_EXCEEDED.code()
+                ));
+            }
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(response -> permit.onSuccess(System.nanoTime() - start))
+                    .doOnError(ex -> {
+                        if (isCircuitOpen(ex)) {
+                            // Rejected locally before reaching service2: no RTT sample
+                            permit.onIgnore();
+                        } else if (isServerFailure(ex)) {
+                            permit.onDropped();
+                        } else {
+                            permit.onSuccess(System.nanoTime() - start);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            permit.onIgnore();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Holds a permit of the service2 bulkhead for the duration of the attempt; for a relayed GET
+     * that includes streaming the body.
+     */
+    private <T> Mono<T> withBulkhead(Mono<T> call) {
+        if (!properties.getBulkhead().isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                logger.warn("Bulkhead full for Service 2, {} calls in flight", bulkhead.inFlight());
+                return Mono.error(new CustomExceptions.DownstreamServiceException(
+                    "Service 2 is overloaded, request rejected",
+                    "service2",
+                    503,
+                    "Bulkhead full for service2",
+                    ErrorCode.CONCURRENCY_LIMIT_EXCEEDED.code()
+                ));
+            }
+            return call.doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /**
+     * Guards a downstream call with the endpoint's circuit breaker. When the breaker is open the
+     * call is never subscribed and a {@code CIRCUIT_OPEN} exception is returned immediately.
+     */
+    private <T> Mono<T> withCircuitBreaker(String endpoint, Mono<T> call) {
+        if (!circuitBreakerRegistry.isEnabled()) {
+            return call;
+        }
+        CircuitBreaker breaker = circuitBreakerRegistry.forEndpoint(endpoint);
+        return Mono.defer(() -> {
+            CircuitBreaker.Permission permission = breaker.tryAcquirePermission();
+            if (!permission.isGranted()) {
+                logger.warn("Circuit breaker open for Service 2 endpoint: {}", endpoint);
+                return Mono.error(new CustomExceptions.DownstreamServiceException(
+                    "Service 2 is temporarily unavailable",
+                    "service2",
+                    503,
+                    "Circuit breaker is open for " + endpoint,
+                    ErrorCode.CIRCUIT_OPEN.code()
+                ));
+            }
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(response -> breaker.onResult(permission, System.nanoTime() - start, false))
+                    .doOnError(ex -> breaker.onResult(permission, System.nanoTime() - start, isServerFailure(ex)))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            breaker.releasePermission(permission);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Only server-side and transport failures count against the breaker and the concurrency
+     * limiter; 4xx responses mean service2 is healthy and rejected the input.
+     */
+    private static boolean isServerFailure(Throwable ex) {
+        if (ex instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        if (ex instanceof CustomExceptions.DownstreamServiceException downstream) {
+            return downstream.getStatusCode() >= 500;
+        }
+        return true;
+    }
+
+    private static boolean isCircuitOpen(Throwable ex) {
+        return ex instanceof CustomExceptions.DownstreamServiceException downstream
+                && ErrorCode.CIRCUIT_OPEN.code().equals(downstream.getErrorCode());
+    }
+
+    /**
+     * Decodes the error body exactly once and carries only its structured fields forward.
+     */
+    private CustomExceptions.DownstreamServiceException toDownstreamException(
+            WebClientResponseException ex, String logPrefix, String requestId) {
+        DownstreamErrorDecoder.DownstreamError error = errorDecoder.decode(
+                ex.getResponseBodyAsByteArray(), ex.getHeaders().getContentType());
+        return toDownstreamException(ex.getStatusCode().value(), error, logPrefix, requestId);
+    }
+
+    private CustomExceptions.DownstreamServiceException toDownstreamException(
+            int statusCode, DownstreamErrorDecoder.DownstreamError error, String logPrefix, String requestId) {
+        logger.error("{}: {} {} {} | Downstream Request ID: {} | Request ID: {}",
+                logPrefix, statusCode, error.code(), error.message(), error.requestId(), requestId);
+
+        String errorMessage = error.message() != null ? error.message() : "Unknown error from downstream service";
+        return new CustomExceptions.DownstreamServiceException(
+            "Service 2 returned an error: " + errorMessage,
+            "service2",
+            statusCode,
+            error.message(),
+            ErrorCode.DOWNSTREAM_SERVICE_ERROR.code(),
+            error.code(),
+            error.requestId()
+        );
+    }
+
+    private static boolean isTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof io.netty.handler.timeout.TimeoutException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CustomExceptions.DownstreamServiceException toTimeoutException(String endpoint, Throwable ex, String requestId) {
+        logger.warn("Service 2 call timed out: {} | Request ID: {}", endpoint, requestId);
+        return new CustomExceptions.DownstreamServiceException(
+            "Service 2 did not respond in time",
+            "service2",
+            ErrorCode.DEADLINE_EXCEEDED.status().value(),
+            "Timed out calling " + endpoint,
+            ErrorCode.DEADLINE_EXCEEDED.code()
+        );
+    }
+
+    private static CustomExceptions.DownstreamServiceException deadlineExceeded(String endpoint) {
+        return new CustomExceptions.DownstreamServiceException(
+            "Request deadline exceeded before Service 2 responded",
+            "service2",
+            ErrorCode.DEADLINE_EXCEEDED.status().value(),
+            "Deadline exceeded calling " + endpoint,
+            ErrorCode.DEADLINE_EXCEEDED.code()
+        );
+    }
+
+    private CustomExceptions.DownstreamServiceException toCommunicationException(Throwable ex) {
+        return new CustomExceptions.DownstreamServiceException(
+            "Failed to communicate with Service 2",
+            "service2",
+            500,
+            ex.getMessage()
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.service1.service;
+
+import com.example.errorcontract.exception.CustomExceptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of Service 2 calls ({@code service2.client.requests}) by endpoint and outcome, with
+ * percentile histograms. All outcome timers of an endpoint are registered together on its first
+ * call, so recording is a map lookup, an array read and a histogram update.
+ */
+@Component
+public class Service2ClientMetrics {
+
+    public enum Outcome {
+        SUCCESS,
+        CLIENT_ERROR,
+        SERVER_ERROR,
+        TRANSPORT_ERROR,
+        /** Rejected locally by the circuit breaker or the concurrency limiter */
+        REJECTED
+    }
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public Service2ClientMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String endpoint, Outcome outcome, long durationNanos) {
+        Timer[] endpointTimers = timers.get(endpoint);
+        if (endpointTimers == null) {
+            endpointTimers = timers.computeIfAbsent(endpoint, this::register);
+        }
+        endpointTimers[outcome.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Classifies the raw failure of a call, before it is mapped to a
+     * {@code DownstreamServiceException} for the caller.
+     */
+    public static Outcome outcomeOf(Throwable ex) {
+        if (ex instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is4xxClientError() ? Outcome.CLIENT_ERROR : Outcome.SERVER_ERROR;
+        }
+        if (ex instanceof CustomExceptions.DownstreamServiceException) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.TRANSPORT_ERROR;
+    }
+
+    private Timer[] register(String endpoint) {
+        Timer[] endpointTimers = new Timer[OUTCOMES.length];
+        for (Outcome outcome : OUTCOMES) {
+            endpointTimers[outcome.ordinal()] = Timer.builder("service2.client.requests")
+                    .description("Service 2 calls by endpoint and outcome")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome.name())
+                    .publishPercentileHistogram()
+                    // Bounded to the plausible range to keep the bucket count per timer small
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+        return endpointTimers;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.service1.service;
+
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.web.RequestContext;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Validates order users against service2 through a bounded, TTL-based cache keyed by normalized
+ * email and name. Rejections ({@code VALIDATION_ERROR}) are cached for a shorter TTL; 5xx and
+ * transport failures are never cached, so the next order retries service2.
+ * <p>
+ * A rejection is cached as its fields rather than as the exception, and every caller gets a new
+ * exception carrying its own request ID. Callers that join a load already in flight wait for it
+ * only until their own deadline.
+ */
+@Service
+public class UserValidationService {
+
+    @Autowired
+    private Service2Client service2Client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user-validation.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${user-validation.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${user-validation.cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${user-validation.cache.negative-ttl:30s}")
+    private Duration negativeTtl;
+
+    private AsyncCache<Key, Outcome> cache;
+
+    private record Key(String email, String name) {
+    }
+
+    private record Outcome(UserValidationResult result, Rejection rejection) {
+    }
+
+    private record Rejection(String message, String serviceName, int statusCode, String downstreamError,
+                             String errorCode, String downstreamErrorCode) {
+
+        static Rejection of(CustomExceptions.DownstreamServiceException ex) {
+            return new Rejection(ex.getMessage(), ex.getServiceName(), ex.getStatusCode(), ex.getDownstreamError(),
+                    ex.getErrorCode(), ex.getDownstreamErrorCode());
+        }
+
+        CustomExceptions.DownstreamServiceException toException(String requestId) {
+            return new CustomExceptions.DownstreamServiceException(
+                    message, serviceName, statusCode, downstreamError, errorCode, downstreamErrorCode, requestId);
+        }
+    }
+
+    @PostConstruct
+    void initCache() {
+        if (!cacheEnabled) {
+            return;
+        }
+        // Caffeine's default eviction policy is W-TinyLFU
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Key, Outcome>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Outcome outcome, long currentTime) {
+                        return (outcome.rejection() != null ? negativeTtl : ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Outcome outcome, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, outcome, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Outcome outcome, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.validation");
+    }
+
+    public Mono<UserValidationResult> validate(String email, String name) {
+        Key key = new Key(email.trim().toLowerCase(Locale.ROOT), name.trim());
+        String requestId = RequestContext.currentRequestId();
+        if (cache == null) {
+            return load(key).flatMap(outcome -> unwrap(outcome, requestId));
+        }
+        // Concurrent misses for the same key share one load, which runs under the request context of
+        // the caller that started it; callers that cancel do not cancel it
+        Mono<Outcome> cached = Mono.fromFuture(() -> cache.get(key, (k, executor) -> load(k).toFuture()), true);
+        return Service2Client.withCallerDeadline("/validate-user", cached)
+                .flatMap(outcome -> unwrap(outcome, requestId));
+    }
+
+    private Mono<Outcome> load(Key key) {
+        return service2Client.validateUser(Map.of("email", key.email(), "name", key.name()))
+                .map(result -> new Outcome(result, null))
+                .onErrorResume(CustomExceptions.DownstreamServiceException.class,
+                        ex -> isRejection(ex) ? Mono.just(new Outcome(null, Rejection.of(ex))) : Mono.error(ex));
+    }
+
+    private static boolean isRejection(CustomExceptions.DownstreamServiceException ex) {
+        return ex.getStatusCode() == 400 && ErrorCode.VALIDATION_ERROR.code().equals(ex.getDownstreamErrorCode());
+    }
+
+    private static Mono<UserValidationResult> unwrap(Outcome outcome, String requestId) {
+        return outcome.rejection() != null
+                ? Mono.error(outcome.rejection().toException(requestId))
+                : Mono.just(outcome.result());
+    }
+}
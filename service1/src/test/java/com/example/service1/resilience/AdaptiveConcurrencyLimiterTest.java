@@ -0,0 +1,74 @@
+package com.example.service1.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter("/test", new AdaptiveConcurrencyLimiter.Config(2, 1, 100, 1000));
+
+    @Test
+    void rejectsOverTheLimitAndAdmitsAgainOnceReleased() {
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.snapshot().rejected()).isEqualTo(1);
+
+        first.onIgnore();
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    void permitIsReleasedExactlyOnceWhenCancellationRacesCompletion() {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit other = limiter.tryAcquire();
+
+        permit.onIgnore();
+        permit.onSuccess(RTT);
+        permit.onDropped();
+        permit.onIgnore();
+
+        assertThat(limiter.snapshot().inFlight()).isEqualTo(1);
+        other.onIgnore();
+        assertThat(limiter.snapshot().inFlight()).isZero();
+    }
+
+    @Test
+    void completedPermitIsNotReleasedAgainByLateCancel() {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+
+        permit.onSuccess(RTT);
+        permit.onIgnore();
+
+        assertThat(limiter.snapshot().inFlight()).isZero();
+    }
+
+    @Test
+    void droppedCallsShrinkTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter wide =
+                new AdaptiveConcurrencyLimiter("/wide", new AdaptiveConcurrencyLimiter.Config(20, 4, 100, 1000));
+        for (int i = 0; i < 50; i++) {
+            wide.tryAcquire().onDropped();
+        }
+        assertThat(wide.snapshot().limit()).isEqualTo(4);
+        assertThat(wide.snapshot().inFlight()).isZero();
+    }
+
+    @Test
+    void limitGrowsWhileLatencyStaysAtTheNoLoadBaseline() {
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+        first.onSuccess(RTT);
+        second.onSuccess(RTT);
+
+        assertThat(limiter.snapshot().limit()).isGreaterThan(2);
+    }
+}
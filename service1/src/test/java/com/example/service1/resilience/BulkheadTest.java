@@ -0,0 +1,31 @@
+package com.example.service1.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    @Test
+    void callsOverTheCapAreRejectedUntilAPermitIsReleased() {
+        Bulkhead bulkhead = new Bulkhead("service2", 2);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.inFlight()).isEqualTo(2);
+
+        bulkhead.release();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotReportsCapInFlightAndRejected() {
+        Bulkhead bulkhead = new Bulkhead("service2", 1);
+        bulkhead.tryAcquire();
+        bulkhead.tryAcquire();
+
+        assertThat(bulkhead.snapshot()).isEqualTo(new Bulkhead.Snapshot("service2", 1, 1, 1));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.service1.resilience;
+
+import com.example.service1.resilience.CircuitBreaker.Permission;
+import com.example.service1.resilience.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long WAIT_IN_OPEN_MILLIS = 100;
+
+    // 50% failure rate over at least 4 calls, 2 half-open trials
+    private final CircuitBreaker breaker = new CircuitBreaker("/test", new CircuitBreaker.Config(
+            50f, 100f, TimeUnit.SECONDS.toNanos(1), 4,
+            TimeUnit.SECONDS.toNanos(10), 10,
+            TimeUnit.MILLISECONDS.toNanos(WAIT_IN_OPEN_MILLIS), 2));
+
+    @Test
+    void opensOnFailureRateAndClosesAfterSuccessfulTrials() throws InterruptedException {
+        trip();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.DENIED);
+
+        waitOutOpenState();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        Permission first = breaker.tryAcquirePermission();
+        Permission second = breaker.tryAcquirePermission();
+        assertThat(first).isEqualTo(Permission.TRIAL);
+        assertThat(second).isEqualTo(Permission.TRIAL);
+
+        breaker.onResult(first, FAST, false);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        breaker.onResult(second, FAST, false);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.snapshot().calls()).isZero();
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.PERMITTED);
+    }
+
+    @Test
+    void staysClosedBelowMinimumNumberOfCalls() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onResult(breaker.tryAcquirePermission(), FAST, true);
+        }
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenTrialsFail() throws InterruptedException {
+        trip();
+        waitOutOpenState();
+        Permission first = breaker.tryAcquirePermission();
+        Permission second = breaker.tryAcquirePermission();
+
+        breaker.onResult(first, FAST, true);
+        breaker.onResult(second, FAST, false);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.DENIED);
+    }
+
+    @Test
+    void halfOpenLetsOnlyThePermittedNumberOfTrialsThrough() throws InterruptedException {
+        trip();
+        waitOutOpenState();
+
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.TRIAL);
+        Permission second = breaker.tryAcquirePermission();
+        assertThat(second).isEqualTo(Permission.TRIAL);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.DENIED);
+
+        // A cancelled trial hands its permit to the next caller
+        breaker.releasePermission(second);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.TRIAL);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.DENIED);
+    }
+
+    @Test
+    void callStartedClosedAndEndingHalfOpenIsNotCountedAsTrial() throws InterruptedException {
+        Permission stale = breaker.tryAcquirePermission();
+        assertThat(stale).isEqualTo(Permission.PERMITTED);
+
+        trip();
+        waitOutOpenState();
+        Permission trial = breaker.tryAcquirePermission();
+        assertThat(trial).isEqualTo(Permission.TRIAL);
+
+        // Neither completing nor cancelling the earlier call affects the trials
+        breaker.onResult(stale, FAST, false);
+        breaker.releasePermission(stale);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.TRIAL);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(Permission.DENIED);
+
+        breaker.onResult(trial, FAST, false);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        CircuitBreaker slowBreaker = new CircuitBreaker("/slow", new CircuitBreaker.Config(
+                100f, 50f, TimeUnit.MILLISECONDS.toNanos(100), 4,
+                TimeUnit.SECONDS.toNanos(10), 10, TimeUnit.SECONDS.toNanos(1), 2));
+        for (int i = 0; i < 4; i++) {
+            slowBreaker.onResult(slowBreaker.tryAcquirePermission(), TimeUnit.MILLISECONDS.toNanos(200), false);
+        }
+        assertThat(slowBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(breaker.tryAcquirePermission(), FAST, true);
+        }
+    }
+
+    private static void waitOutOpenState() throws InterruptedException {
+        Thread.sleep(WAIT_IN_OPEN_MILLIS + 20);
+    }
+}
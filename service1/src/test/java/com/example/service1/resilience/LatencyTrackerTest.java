@@ -0,0 +1,53 @@
+package com.example.service1.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyTrackerTest {
+
+    @Test
+    void noPercentileBeforeMinSamples() {
+        LatencyTracker tracker = new LatencyTracker(100, 0.9, 0);
+        for (int i = 0; i < 9; i++) {
+            tracker.record(i);
+        }
+        assertThat(tracker.percentileNanos(10)).isEqualTo(-1);
+    }
+
+    @Test
+    void percentileOfRecordedLatencies() {
+        LatencyTracker tracker = new LatencyTracker(100, 0.9, 0);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+        assertThat(tracker.percentileNanos(10)).isEqualTo(90);
+    }
+
+    @Test
+    void onlyTheMostRecentSamplesCount() {
+        LatencyTracker tracker = new LatencyTracker(10, 0.5, 0);
+        for (int i = 0; i < 10; i++) {
+            tracker.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.record(10);
+        }
+        assertThat(tracker.sampleCount()).isEqualTo(10);
+        assertThat(tracker.percentileNanos(1)).isEqualTo(10);
+    }
+
+    @Test
+    void percentileIsCachedForTheRefreshInterval() {
+        LatencyTracker tracker = new LatencyTracker(10, 0.5, Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            tracker.record(10);
+        }
+        assertThat(tracker.percentileNanos(1)).isEqualTo(10);
+
+        for (int i = 0; i < 10; i++) {
+            tracker.record(1_000);
+        }
+        assertThat(tracker.percentileNanos(1)).isEqualTo(10);
+    }
+}
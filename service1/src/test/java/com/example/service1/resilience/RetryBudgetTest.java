@@ -0,0 +1,42 @@
+package com.example.service1.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    void initialTokensAreSpentOneAttemptAtATime() {
+        RetryBudget budget = new RetryBudget(0.1, 2, 10);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void tenCallsEarnOneRetryAtRatioOfOneTenth() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 10);
+
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void balanceIsCappedAtMaxTokens() {
+        RetryBudget budget = new RetryBudget(1.0, 5, 3);
+        assertThat(budget.getAvailableTokens()).isEqualTo(3.0);
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.getAvailableTokens()).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.service1.resilience;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicInteger cancellations = new AtomicInteger();
+    private final Sinks.One<String> response = Sinks.one();
+
+    private Mono<String> call() {
+        return response.asMono()
+                .doOnSubscribe(subscription -> subscriptions.incrementAndGet())
+                .doOnCancel(cancellations::incrementAndGet);
+    }
+
+    @Test
+    void concurrentCallsShareOneSubscription() {
+        List<String> values = new ArrayList<>();
+        singleFlight.execute("key", this::call).subscribe(values::add);
+        singleFlight.execute("key", this::call).subscribe(values::add);
+
+        assertThat(subscriptions).hasValue(1);
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+
+        response.tryEmitValue("value");
+        assertThat(values).containsExactly("value", "value");
+        assertThat(singleFlight.executed()).isEqualTo(1);
+        assertThat(singleFlight.joined()).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void entryIsRemovedOnErrorAndNextCallGoesDownstream() {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        singleFlight.execute("key", this::call).subscribe(value -> { }, failure::set);
+
+        response.tryEmitError(new IllegalStateException("boom"));
+        assertThat(failure.get()).hasMessage("boom");
+        assertThat(singleFlight.inFlight()).isZero();
+
+        String value = singleFlight.execute("key", () -> Mono.just("fresh")).block();
+        assertThat(value).isEqualTo("fresh");
+        assertThat(singleFlight.executed()).isEqualTo(2);
+    }
+
+    @Test
+    void callerCancellingDoesNotCancelTheCallForOthers() {
+        List<String> values = new ArrayList<>();
+        Disposable leaving = singleFlight.execute("key", this::call).subscribe();
+        singleFlight.execute("key", this::call).subscribe(values::add);
+
+        leaving.dispose();
+        assertThat(cancellations).hasValue(0);
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+
+        response.tryEmitValue("value");
+        assertThat(values).containsExactly("value");
+    }
+
+    @Test
+    void callIsCancelledOnceAndRemovedWhenEveryCallerCancels() {
+        Disposable first = singleFlight.execute("key", this::call).subscribe();
+        Disposable second = singleFlight.execute("key", this::call).subscribe();
+
+        first.dispose();
+        second.dispose();
+        second.dispose();
+
+        assertThat(cancellations).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+
+        // A later caller starts a new call instead of joining the cancelled one
+        singleFlight.execute("key", this::call).subscribe();
+        assertThat(singleFlight.executed()).isEqualTo(2);
+        assertThat(subscriptions).hasValue(2);
+    }
+
+    @Test
+    void differentKeysAreNotCoalesced() {
+        singleFlight.execute("a", this::call).subscribe();
+        singleFlight.execute("b", this::call).subscribe();
+
+        assertThat(subscriptions).hasValue(2);
+        assertThat(singleFlight.joined()).isZero();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.service1.service;
+
+import com.example.service1.config.Service2ClientProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownstreamErrorDecoderTest {
+
+    private static final String BODY = "{\"error\":{\"code\":\"VALIDATION_ERROR\",\"message\":\"Invalid email\","
+            + "\"requestId\":\"downstream-1\",\"details\":{\"field\":\"email\"}}}";
+
+    private final DownstreamErrorDecoder decoder = decoder(DataSize.ofBytes(1024));
+
+    @Test
+    void decodesCodeMessageAndRequestId() {
+        DownstreamErrorDecoder.DownstreamError error =
+                decoder.decode(BODY.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(error).isEqualTo(new DownstreamErrorDecoder.DownstreamError("VALIDATION_ERROR", "Invalid email", "downstream-1"));
+    }
+
+    @Test
+    void nonJsonBodyYieldsNoFields() {
+        DownstreamErrorDecoder.DownstreamError error =
+                decoder.decode("<html>Bad Gateway</html>".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(error.code()).isNull();
+        assertThat(error.message()).isNull();
+    }
+
+    @Test
+    void readsSmallErrorBodyWhole() {
+        WebClientResponseException exception = decoder.readException(response(BODY, 16)).block(Duration.ofSeconds(5));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exception.getResponseBodyAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void stopsReadingErrorBodyAtTheCap() {
+        AtomicInteger chunksRead = new AtomicInteger();
+        String large = "{\"error\":{\"code\":\"X\"},\"padding\":\"" + "x".repeat(100_000) + "\"}";
+        ClientResponse response = ClientResponse.create(HttpStatus.BAD_GATEWAY)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(chunks(large, 256).doOnNext(chunk -> chunksRead.incrementAndGet()))
+                .build();
+
+        WebClientResponseException exception = decoder.readException(response).block(Duration.ofSeconds(5));
+
+        assertThat(exception.getResponseBodyAsByteArray()).hasSize(1024);
+        assertThat(chunksRead.get()).isLessThanOrEqualTo(1024 / 256 + 1);
+        assertThat(decoder.decode(exception.getResponseBodyAsByteArray()).code()).isEqualTo("X");
+    }
+
+    private static DownstreamErrorDecoder decoder(DataSize maxErrorBodySize) {
+        Service2ClientProperties properties = new Service2ClientProperties();
+        properties.setMaxErrorBodySize(maxErrorBodySize);
+        return new DownstreamErrorDecoder(new ObjectMapper(), properties);
+    }
+
+    private static ClientResponse response(String body, int chunkSize) {
+        return ClientResponse.create(HttpStatus.BAD_REQUEST)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(chunks(body, chunkSize))
+                .build();
+    }
+
+    private static Flux<DataBuffer> chunks(String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                .map(chunk -> {
+                    int offset = chunk * chunkSize;
+                    return DefaultDataBufferFactory.sharedInstance.wrap(
+                            Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunkSize)));
+                });
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.service1.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class MicroBatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private MicroBatcher<String, String> batcher;
+
+    @AfterEach
+    void dispose() {
+        batcher.dispose();
+    }
+
+    @Test
+    void flushesAsSoonAsTheBatchIsFull() {
+        batcher = batcher(3, Duration.ofMinutes(1), 1, this::upperCase);
+
+        List<String> results = Flux.merge(batcher.submit("a"), batcher.submit("b"), batcher.submit("c"))
+                .collectList().block(TIMEOUT);
+
+        assertThat(results).containsExactlyInAnyOrder("A", "B", "C");
+        assertThat(batches).containsExactly(List.of("a", "b", "c"));
+    }
+
+    @Test
+    void flushesAPartialBatchAfterMaxDelay() {
+        batcher = batcher(100, Duration.ofMillis(50), 1, this::upperCase);
+
+        long start = System.nanoTime();
+        String result = batcher.submit("a").block(TIMEOUT);
+
+        assertThat(result).isEqualTo("A");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(40));
+        assertThat(batches).containsExactly(List.of("a"));
+    }
+
+    @Test
+    void failingItemFailsOnlyItsOwnSubmission() {
+        // Per-item failures come back as results, the way /validate-users answers
+        batcher = batcher(3, Duration.ofMinutes(1), 1,
+                items -> Mono.just(items.stream().map(item -> item.equals("bad") ? "error:" + item : item).toList()));
+
+        Mono<String> good = submitFailingOnError("good");
+        Mono<String> bad = submitFailingOnError("bad");
+        Mono<String> other = submitFailingOnError("other");
+        good.subscribe(value -> { }, ex -> { });
+        bad.subscribe(value -> { }, ex -> { });
+        other.subscribe(value -> { }, ex -> { });
+
+        assertThat(good.block(TIMEOUT)).isEqualTo("good");
+        assertThat(other.block(TIMEOUT)).isEqualTo("other");
+        assertThatThrownBy(() -> bad.block(TIMEOUT)).hasMessage("error:bad");
+    }
+
+    @Test
+    void failedBatchCallFailsEverySubmissionInIt() {
+        batcher = batcher(2, Duration.ofMinutes(1), 1,
+                items -> Mono.error(new IllegalStateException("service2 down")));
+
+        Mono<String> first = batcher.submit("a").cache();
+        Mono<String> second = batcher.submit("b").cache();
+        first.subscribe(value -> { }, ex -> { });
+        second.subscribe(value -> { }, ex -> { });
+
+        Throwable firstFailure = catchThrowable(() -> first.block(TIMEOUT));
+        Throwable secondFailure = catchThrowable(() -> second.block(TIMEOUT));
+        assertThat(firstFailure).hasMessage("service2 down");
+        assertThat(secondFailure).hasMessage("service2 down").isNotSameAs(firstFailure);
+    }
+
+    @Test
+    void submissionsOverMaxPendingFailFast() {
+        batcher = new MicroBatcher<>(1, Duration.ofMinutes(1), 1, 1, items -> Mono.never(), MicroBatcherTest::copy);
+
+        // The first item is dispatched at once and holds the only batch slot, the second waits
+        batcher.submit("a").subscribe(value -> { }, ex -> { });
+        batcher.submit("b").subscribe(value -> { }, ex -> { });
+        assertThat(batcher.pending()).isEqualTo(1);
+
+        assertThatThrownBy(() -> batcher.submit("c").block(TIMEOUT))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(batcher.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void batchWithTheWrongNumberOfResultsFailsItsSubmissions() {
+        batcher = batcher(1, Duration.ofMinutes(1), 1, items -> Mono.just(List.of()));
+
+        assertThatThrownBy(() -> batcher.submit("a").block(TIMEOUT))
+                .hasMessage("Batch of 1 items returned 0 results");
+    }
+
+    @Test
+    void keepsWorkingAfterAFailedBatch() {
+        batcher = batcher(1, Duration.ofMinutes(1), 1,
+                items -> items.get(0).equals("fail") ? Mono.error(new IllegalStateException("boom")) : upperCase(items));
+
+        assertThatThrownBy(() -> batcher.submit("fail").block(TIMEOUT)).hasMessage("boom");
+        assertThat(batcher.submit("a").block(TIMEOUT)).isEqualTo("A");
+    }
+
+    private static MicroBatcher<String, String> batcher(int maxBatchSize, Duration maxDelay, int maxConcurrentBatches,
+                                                        Function<List<String>, Mono<List<String>>> batchCall) {
+        return new MicroBatcher<>(maxBatchSize, maxDelay, maxConcurrentBatches, 100, batchCall, MicroBatcherTest::copy);
+    }
+
+    private static Throwable copy(Throwable ex) {
+        return new IllegalStateException(ex.getMessage(), ex);
+    }
+
+    private Mono<List<String>> upperCase(List<String> items) {
+        batches.add(List.copyOf(items));
+        return Mono.just(items.stream().map(String::toUpperCase).toList());
+    }
+
+    private Mono<String> submitFailingOnError(String item) {
+        return batcher.submit(item)
+                .flatMap(result -> result.startsWith("error:")
+                        ? Mono.<String>error(new IllegalArgumentException(result))
+                        : Mono.just(result))
+                .cache();
+    }
+}
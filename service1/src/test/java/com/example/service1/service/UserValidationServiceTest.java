@@ -0,0 +1,170 @@
+package com.example.service1.service;
+
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.web.Deadline;
+import com.example.errorcontract.web.RequestContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserValidationServiceTest {
+
+    private static final Duration NEGATIVE_TTL = Duration.ofMillis(100);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Service2Client service2Client = mock(Service2Client.class);
+    private final UserValidationService service = new UserValidationService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "service2Client", service2Client);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "cacheEnabled", true);
+        ReflectionTestUtils.setField(service, "maxSize", 100L);
+        ReflectionTestUtils.setField(service, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(service, "negativeTtl", NEGATIVE_TTL);
+        service.initCache();
+    }
+
+    @AfterEach
+    void clearRequestContext() {
+        MDC.remove(RequestContext.MDC_KEY);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void successIsCachedForTheFullTtlUnderANormalizedKey() throws InterruptedException {
+        when(service2Client.validateUser(any()))
+                .thenReturn(Mono.just(new UserValidationResult("ok", "user@example.com", "User")));
+
+        assertThat(service.validate("user@example.com", "User").block(TIMEOUT).email()).isEqualTo("user@example.com");
+        assertThat(service.validate(" USER@example.com ", "User ").block(TIMEOUT).email()).isEqualTo("user@example.com");
+        Thread.sleep(NEGATIVE_TTL.toMillis() * 2);
+        service.validate("user@example.com", "User").block(TIMEOUT);
+
+        verify(service2Client, times(1)).validateUser(Map.of("email", "user@example.com", "name", "User"));
+    }
+
+    @Test
+    void validationErrorIsCachedOnlyForTheNegativeTtl() throws InterruptedException {
+        when(service2Client.validateUser(any())).thenReturn(Mono.error(downstream(400, ErrorCode.VALIDATION_ERROR)));
+
+        assertThatThrownBy(() -> service.validate("bad", "User").block(TIMEOUT))
+                .isInstanceOf(CustomExceptions.DownstreamServiceException.class);
+        assertThatThrownBy(() -> service.validate("bad", "User").block(TIMEOUT))
+                .isInstanceOf(CustomExceptions.DownstreamServiceException.class);
+        verify(service2Client, times(1)).validateUser(any());
+
+        Thread.sleep(NEGATIVE_TTL.toMillis() * 2);
+        assertThatThrownBy(() -> service.validate("bad", "User").block(TIMEOUT))
+                .isInstanceOf(CustomExceptions.DownstreamServiceException.class);
+        verify(service2Client, times(2)).validateUser(any());
+    }
+
+    @Test
+    void otherDownstreamErrorsAreNotCached() {
+        when(service2Client.validateUser(any()))
+                .thenReturn(Mono.error(downstream(500, ErrorCode.INTERNAL_SERVER_ERROR)))
+                .thenReturn(Mono.error(downstream(400, ErrorCode.BUSINESS_LOGIC_ERROR)))
+                .thenReturn(Mono.just(new UserValidationResult("ok", "user@example.com", "User")));
+
+        assertThatThrownBy(() -> service.validate("user@example.com", "User").block(TIMEOUT))
+                .isInstanceOf(CustomExceptions.DownstreamServiceException.class);
+        assertThatThrownBy(() -> service.validate("user@example.com", "User").block(TIMEOUT))
+                .isInstanceOf(CustomExceptions.DownstreamServiceException.class);
+        assertThat(service.validate("user@example.com", "User").block(TIMEOUT).message()).isEqualTo("ok");
+
+        verify(service2Client, times(3)).validateUser(any());
+    }
+
+    @Test
+    void transportFailuresAreNotCached() {
+        when(service2Client.validateUser(any()))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")))
+                .thenReturn(Mono.just(new UserValidationResult("ok", "user@example.com", "User")));
+
+        assertThatThrownBy(() -> service.validate("user@example.com", "User").block(TIMEOUT))
+                .hasMessageContaining("connection reset");
+        assertThat(service.validate("user@example.com", "User").block(TIMEOUT).message()).isEqualTo("ok");
+
+        verify(service2Client, times(2)).validateUser(any());
+    }
+
+    @Test
+    void cachedRejectionIsANewExceptionForEveryCallerWithItsOwnRequestId() {
+        when(service2Client.validateUser(any())).thenReturn(Mono.error(downstream(400, ErrorCode.VALIDATION_ERROR)));
+
+        CustomExceptions.DownstreamServiceException first = rejectionFor("request-1");
+        CustomExceptions.DownstreamServiceException second = rejectionFor("request-2");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.getDownstreamRequestId()).isEqualTo("request-1");
+        assertThat(second.getDownstreamRequestId()).isEqualTo("request-2");
+        assertThat(second.getMessage()).isEqualTo(first.getMessage());
+        assertThat(second.getStatusCode()).isEqualTo(400);
+        assertThat(second.getErrorCode()).isEqualTo(ErrorCode.DOWNSTREAM_SERVICE_ERROR.code());
+        assertThat(second.getDownstreamErrorCode()).isEqualTo(ErrorCode.VALIDATION_ERROR.code());
+        verify(service2Client, times(1)).validateUser(any());
+    }
+
+    @Test
+    void callerJoiningAnInFlightLoadGivesUpAtItsOwnDeadline() {
+        Sinks.One<UserValidationResult> response = Sinks.one();
+        when(service2Client.validateUser(any())).thenReturn(response.asMono());
+        Mono<UserValidationResult> leader = service.validate("user@example.com", "User").cache();
+        leader.subscribe(result -> { }, ex -> { });
+
+        withDeadline(Deadline.afterMillis(50));
+        assertThatThrownBy(() -> service.validate("user@example.com", "User").block(TIMEOUT))
+                .isInstanceOfSatisfying(CustomExceptions.DownstreamServiceException.class, ex ->
+                        assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.DEADLINE_EXCEEDED.code()));
+
+        response.tryEmitValue(new UserValidationResult("ok", "user@example.com", "User"));
+        assertThat(leader.block(TIMEOUT).message()).isEqualTo("ok");
+        verify(service2Client, times(1)).validateUser(any());
+    }
+
+    private CustomExceptions.DownstreamServiceException rejectionFor(String requestId) {
+        MDC.put(RequestContext.MDC_KEY, requestId);
+        try {
+            return catchThrowableOfType(() -> service.validate("bad", "User").block(TIMEOUT),
+                    CustomExceptions.DownstreamServiceException.class);
+        } finally {
+            MDC.remove(RequestContext.MDC_KEY);
+        }
+    }
+
+    private static void withDeadline(Deadline deadline) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        // RequestContext keeps the deadline in this request attribute
+        request.setAttribute(RequestContext.class.getName() + ".deadline", deadline);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static CustomExceptions.DownstreamServiceException downstream(int status, ErrorCode downstreamCode) {
+        return new CustomExceptions.DownstreamServiceException("Service 2 error", "service2", status, "error",
+                ErrorCode.DOWNSTREAM_SERVICE_ERROR.code(), downstreamCode.code(), "downstream-request");
+    }
+}
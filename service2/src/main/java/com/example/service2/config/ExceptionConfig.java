@@ -0,0 +1,23 @@
+package com.example.service2.config;
+
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.logging.ErrorLogSampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ExceptionConfig {
+
+    public ExceptionConfig(@Value("${error-handling.exceptions.capture-stack-traces:true}") boolean captureStackTraces) {
+        CustomExceptions.setCaptureStackTraces(captureStackTraces);
+    }
+
+    @Bean
+    public ErrorLogSampler errorLogSampler(
+            @Value("${error-handling.logging.summary-interval:10s}") Duration summaryInterval) {
+        return new ErrorLogSampler(summaryInterval);
+    }
+}
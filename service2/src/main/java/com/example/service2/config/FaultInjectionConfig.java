@@ -0,0 +1,71 @@
+package com.example.service2.config;
+
+import com.example.service2.fault.FaultInjectionFilter;
+import com.example.service2.fault.FaultInjectionHandlerMapping;
+import com.example.service2.fault.FaultInjectionInterceptor;
+import com.example.service2.fault.FaultInjector;
+import com.example.service2.fault.ReactiveFaultInjectionFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxRegistrations;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Fault injection is only wired in when {@code fault-injection.enabled} is set; otherwise none of
+ * its filter, interceptor or admin endpoint exist and requests do not pay for it at all.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "fault-injection", name = "enabled", havingValue = "true")
+@Import({FaultInjectionConfig.Servlet.class, FaultInjectionConfig.Reactive.class})
+public class FaultInjectionConfig {
+
+    @Bean
+    public FaultInjector faultInjector() {
+        return new FaultInjector();
+    }
+
+    // Imported rather than annotated, so component scanning does not pick them up on their own
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet implements WebMvcConfigurer {
+
+        @Bean
+        public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(FaultInjector faultInjector) {
+            FilterRegistrationBean<FaultInjectionFilter> registration =
+                    new FilterRegistrationBean<>(new FaultInjectionFilter(faultInjector));
+            // Right after the request context, so injected errors still carry the request ID
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+            return registration;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new FaultInjectionInterceptor());
+        }
+    }
+
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive {
+
+        @Bean
+        public ReactiveFaultInjectionFilter reactiveFaultInjectionFilter(FaultInjector faultInjector) {
+            return new ReactiveFaultInjectionFilter(faultInjector);
+        }
+
+        @Bean
+        public WebFluxRegistrations faultInjectionRegistrations() {
+            return new WebFluxRegistrations() {
+                @Override
+                public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                    return new FaultInjectionHandlerMapping();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.service2.config;
+
+import com.example.errorcontract.web.ErrorResponseWriter;
+import com.example.errorcontract.web.RequestContextWebFilter;
+import com.example.errorcontract.web.WireFormatCodecs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Web setup of the WebFlux runtime ({@code spring.main.web-application-type=reactive}); the beans
+ * shared with the servlet runtime stay in {@link WebConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Tomcat stays on the classpath for the servlet runtime, and Spring Boot would otherwise pick
+     * it for a reactive server too.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+
+    @Bean
+    public RequestContextWebFilter requestContextWebFilter(
+            @Value("${error-handling.deadline.default-budget:0s}") Duration defaultBudget) {
+        return new RequestContextWebFilter(defaultBudget);
+    }
+
+    @Bean
+    public ErrorResponseWriter errorResponseWriter(ObjectMapper objectMapper) {
+        return new ErrorResponseWriter(objectMapper);
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        WireFormatCodecs.configureServer(configurer, objectMapper);
+    }
+}
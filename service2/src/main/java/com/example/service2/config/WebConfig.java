@@ -0,0 +1,72 @@
+package com.example.service2.config;
+
+import com.example.errorcontract.exception.ErrorResponseTemplates;
+import com.example.errorcontract.metrics.ErrorMetrics;
+import com.example.errorcontract.metrics.RecentErrors;
+import com.example.errorcontract.metrics.RecentErrorsController;
+import com.example.errorcontract.web.RequestContextFilter;
+import com.example.errorcontract.web.WireFormatConverters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Replaces Jackson's reflective property access with generated accessors. Boot registers the
+     * module with the application {@code ObjectMapper}, and the Smile and CBOR copies inherit it.
+     * Static, since this configuration itself depends on that mapper.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "jackson.blackbird", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public ErrorResponseTemplates errorResponseTemplates(ObjectMapper objectMapper) {
+        return new ErrorResponseTemplates(objectMapper);
+    }
+
+    @Bean
+    public ErrorMetrics errorMetrics(MeterRegistry meterRegistry) {
+        return new ErrorMetrics(meterRegistry);
+    }
+
+    @Bean
+    public RecentErrors recentErrors(@Value("${error-handling.recent-errors.capacity:1024}") int capacity) {
+        return new RecentErrors(capacity);
+    }
+
+    @Bean
+    public RecentErrorsController recentErrorsController(RecentErrors recentErrors) {
+        return new RecentErrorsController(recentErrors);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public RequestContextFilter requestIdFilter(
+            @Value("${error-handling.deadline.default-budget:0s}") Duration defaultBudget) {
+        return new RequestContextFilter(defaultBudget);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        WireFormatConverters.configure(converters, objectMapper);
+    }
+}
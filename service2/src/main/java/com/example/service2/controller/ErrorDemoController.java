@@ -1,78 +1,69 @@
 package com.example.service2.controller;
 
-import com.example.service2.exception.CustomExceptions;
+import com.example.errorcontract.dto.SuccessResponse;
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.errorcontract.web.RequestContext;
+import com.example.service2.dto.BatchItemResult;
+import com.example.service2.service.ErrorDemoService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
+/**
+ * The demo endpoints on the servlet runtime; {@link ReactiveErrorDemoController} serves them on WebFlux.
+ */
 @RestController
 @RequestMapping("/api/v1")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ErrorDemoController {
 
+    @Autowired
+    private ErrorDemoService errorDemoService;
+
     @GetMapping("/success")
-    public Map<String, String> success() {
-        return Map.of("message", "Operation completed successfully", "service", "service2");
+    public SuccessResponse success(HttpServletRequest request) {
+        errorDemoService.checkDeadline(RequestContext.deadline(request));
+        return ErrorDemoService.SUCCESS;
     }
 
     @GetMapping("/validation-error")
     public void triggerValidationError() {
-        throw new CustomExceptions.ValidationException(
-            "Invalid email format",
-            "email",
-            "Email must contain @ symbol"
-        );
+        throw errorDemoService.validationError();
     }
 
     @GetMapping("/not-found")
     public void triggerNotFound() {
-        throw new CustomExceptions.ResourceNotFoundException(
-            "User not found",
-            "User",
-            "12345"
-        );
+        throw errorDemoService.notFound();
     }
 
     @GetMapping("/business-error")
     public void triggerBusinessError() {
-        throw new CustomExceptions.BusinessLogicException(
-            "Account balance insufficient for this operation"
-        );
+        throw errorDemoService.businessError();
     }
 
     @GetMapping("/external-service-error")
     public void triggerExternalServiceError() {
-        throw new CustomExceptions.ExternalServiceException(
-            "Payment gateway is currently unavailable",
-            "payment-service"
-        );
+        throw errorDemoService.externalServiceError();
     }
 
     @GetMapping("/internal-error")
     public void triggerInternalError() {
-        throw new RuntimeException("Unexpected database connection failure");
+        throw errorDemoService.internalError();
     }
 
     @PostMapping("/validate-user")
-    public Map<String, String> validateUser(@RequestBody Map<String, String> user) {
-        String email = user.get("email");
-        String name = user.get("name");
-        
-        if (email == null || !email.contains("@")) {
-            throw new CustomExceptions.ValidationException(
-                "Invalid email format",
-                "email",
-                "Email must be a valid email address"
-            );
-        }
-        
-        if (name == null || name.trim().isEmpty()) {
-            throw new CustomExceptions.ValidationException(
-                "Name cannot be empty",
-                "name",
-                "Name is required"
-            );
-        }
-        
-        return Map.of("message", "User validation successful", "email", email, "name", name);
+    public UserValidationResult validateUser(@RequestBody Map<String, String> user, HttpServletRequest request) {
+        return errorDemoService.validate(user, RequestContext.deadline(request));
+    }
+
+    @PostMapping("/validate-users")
+    public Map<String, List<BatchItemResult>> validateUsers(@RequestBody List<Map<String, String>> users,
+                                                             HttpServletRequest request) {
+        return errorDemoService.validateBatch(users, RequestContext.requestId(request), request.getRequestURI(),
+                RequestContext.deadline(request));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.example.service2.controller;
+
+import com.example.service2.dto.FaultRule;
+import com.example.service2.fault.FaultInjector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Runtime configuration of fault injection. Rules are evaluated in order and the first one whose
+ * path pattern matches a request applies; internal and actuator endpoints are never affected.
+ */
+@RestController
+@RequestMapping("/api/v1/internal/faults")
+@ConditionalOnProperty(prefix = "fault-injection", name = "enabled", havingValue = "true")
+public class FaultInjectionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjectionController.class);
+
+    @Autowired
+    private FaultInjector faultInjector;
+
+    @GetMapping
+    public List<FaultRule> getRules() {
+        return faultInjector.getRules();
+    }
+
+    @PutMapping
+    public List<FaultRule> setRules(@RequestBody List<FaultRule> rules) {
+        faultInjector.setRules(rules);
+        logger.warn("Fault injection rules replaced: {} active", rules.size());
+        return faultInjector.getRules();
+    }
+
+    @DeleteMapping
+    public List<FaultRule> clearRules() {
+        faultInjector.setRules(List.of());
+        logger.warn("Fault injection rules cleared");
+        return faultInjector.getRules();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.service2.controller;
+
+import com.example.errorcontract.dto.SuccessResponse;
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.errorcontract.web.RequestContext;
+import com.example.service2.dto.BatchItemResult;
+import com.example.service2.service.ErrorDemoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The demo endpoints on the WebFlux runtime. Handlers run on the event loop and never block;
+ * errors are signalled through the returned {@link Mono} and answered by
+ * {@link com.example.service2.exception.GlobalWebExceptionHandler}.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveErrorDemoController {
+
+    @Autowired
+    private ErrorDemoService errorDemoService;
+
+    @GetMapping("/success")
+    public Mono<SuccessResponse> success(ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> {
+            errorDemoService.checkDeadline(RequestContext.deadline(exchange));
+            return ErrorDemoService.SUCCESS;
+        });
+    }
+
+    @GetMapping("/validation-error")
+    public Mono<Void> triggerValidationError() {
+        return Mono.error(errorDemoService::validationError);
+    }
+
+    @GetMapping("/not-found")
+    public Mono<Void> triggerNotFound() {
+        return Mono.error(errorDemoService::notFound);
+    }
+
+    @GetMapping("/business-error")
+    public Mono<Void> triggerBusinessError() {
+        return Mono.error(errorDemoService::businessError);
+    }
+
+    @GetMapping("/external-service-error")
+    public Mono<Void> triggerExternalServiceError() {
+        return Mono.error(errorDemoService::externalServiceError);
+    }
+
+    @GetMapping("/internal-error")
+    public Mono<Void> triggerInternalError() {
+        return Mono.error(errorDemoService::internalError);
+    }
+
+    @PostMapping("/validate-user")
+    public Mono<UserValidationResult> validateUser(@RequestBody Mono<Map<String, String>> user,
+                                                   ServerWebExchange exchange) {
+        return user.map(body -> errorDemoService.validate(body, RequestContext.deadline(exchange)));
+    }
+
+    @PostMapping("/validate-users")
+    public Mono<Map<String, List<BatchItemResult>>> validateUsers(@RequestBody Mono<List<Map<String, String>>> users,
+                                                                   ServerWebExchange exchange) {
+        return users.map(body -> errorDemoService.validateBatch(body, RequestContext.requestId(exchange),
+                exchange.getRequest().getPath().value(), RequestContext.deadline(exchange)));
+    }
+}
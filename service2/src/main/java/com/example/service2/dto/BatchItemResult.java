@@ -0,0 +1,57 @@
+package com.example.service2.dto;
+
+import com.example.errorcontract.dto.ErrorResponse;
+import com.example.errorcontract.dto.UserValidationResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request: the HTTP status the item would have produced on its own,
+ * plus either its result or the error body it would have returned.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private int status;
+    private UserValidationResult result;
+    private ErrorResponse.ErrorDetails error;
+
+    public BatchItemResult() {}
+
+    public static BatchItemResult success(UserValidationResult result) {
+        BatchItemResult item = new BatchItemResult();
+        item.status = 200;
+        item.result = result;
+        return item;
+    }
+
+    public static BatchItemResult failure(int status, ErrorResponse.ErrorDetails error) {
+        BatchItemResult item = new BatchItemResult();
+        item.status = status;
+        item.error = error;
+        return item;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public UserValidationResult getResult() {
+        return result;
+    }
+
+    public void setResult(UserValidationResult result) {
+        this.result = result;
+    }
+
+    public ErrorResponse.ErrorDetails getError() {
+        return error;
+    }
+
+    public void setError(ErrorResponse.ErrorDetails error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.service2.dto;
+
+import com.example.errorcontract.exception.ErrorCode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A fault injection rule as configured through {@code /api/v1/internal/faults}: the faults applied
+ * to requests whose path matches {@code path}. All parts are optional; probabilities are in [0, 1].
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FaultRule {
+
+    private String path = "/api/v1/**";
+    private Latency latency;
+    private Map<ErrorCode, Double> errors = new LinkedHashMap<>();
+    private double resetProbability;
+    private SlowBody slowBody;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Latency getLatency() {
+        return latency;
+    }
+
+    public void setLatency(Latency latency) {
+        this.latency = latency;
+    }
+
+    public Map<ErrorCode, Double> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<ErrorCode, Double> errors) {
+        this.errors = errors;
+    }
+
+    public double getResetProbability() {
+        return resetProbability;
+    }
+
+    public void setResetProbability(double resetProbability) {
+        this.resetProbability = resetProbability;
+    }
+
+    public SlowBody getSlowBody() {
+        return slowBody;
+    }
+
+    public void setSlowBody(SlowBody slowBody) {
+        this.slowBody = slowBody;
+    }
+
+    /**
+     * Added delay before the request is handled. {@code FIXED} uses {@code valueMs}, {@code UNIFORM}
+     * draws from [{@code minMs}, {@code maxMs}], {@code LOG_NORMAL} has median {@code medianMs} and
+     * shape {@code sigma}. Every draw is capped at {@code maxMs} when it is set.
+     */
+    public static class Latency {
+
+        public enum Distribution { FIXED, UNIFORM, LOG_NORMAL }
+
+        private Distribution distribution = Distribution.FIXED;
+        private long valueMs;
+        private long minMs;
+        private long maxMs;
+        private long medianMs;
+        private double sigma;
+
+        public Distribution getDistribution() {
+            return distribution;
+        }
+
+        public void setDistribution(Distribution distribution) {
+            this.distribution = distribution;
+        }
+
+        public long getValueMs() {
+            return valueMs;
+        }
+
+        public void setValueMs(long valueMs) {
+            this.valueMs = valueMs;
+        }
+
+        public long getMinMs() {
+            return minMs;
+        }
+
+        public void setMinMs(long minMs) {
+            this.minMs = minMs;
+        }
+
+        public long getMaxMs() {
+            return maxMs;
+        }
+
+        public void setMaxMs(long maxMs) {
+            this.maxMs = maxMs;
+        }
+
+        public long getMedianMs() {
+            return medianMs;
+        }
+
+        public void setMedianMs(long medianMs) {
+            this.medianMs = medianMs;
+        }
+
+        public double getSigma() {
+            return sigma;
+        }
+
+        public void setSigma(double sigma) {
+            this.sigma = sigma;
+        }
+    }
+
+    /**
+     * With {@code probability}, the response body is written {@code chunkBytes} at a time with
+     * {@code chunkDelayMs} between chunks.
+     */
+    public static class SlowBody {
+
+        private double probability;
+        private int chunkBytes = 16;
+        private long chunkDelayMs = 50;
+
+        public double getProbability() {
+            return probability;
+        }
+
+        public void setProbability(double probability) {
+            this.probability = probability;
+        }
+
+        public int getChunkBytes() {
+            return chunkBytes;
+        }
+
+        public void setChunkBytes(int chunkBytes) {
+            this.chunkBytes = chunkBytes;
+        }
+
+        public long getChunkDelayMs() {
+            return chunkDelayMs;
+        }
+
+        public void setChunkDelayMs(long chunkDelayMs) {
+            this.chunkDelayMs = chunkDelayMs;
+        }
+    }
+}
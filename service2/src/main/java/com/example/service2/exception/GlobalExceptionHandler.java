@@ -1,148 +1,165 @@
 package com.example.service2.exception;
 
-import com.example.service2.dto.ErrorResponse;
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.exception.ErrorResponseTemplates;
+import com.example.errorcontract.logging.ErrorLogSampler;
+import com.example.errorcontract.metrics.ErrorMetrics;
+import com.example.errorcontract.metrics.RecentErrors;
+import com.example.errorcontract.web.RequestContext;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    @Autowired
+    private ErrorResponseTemplates templates;
+
+    @Autowired
+    private ErrorMetrics errorMetrics;
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private RecentErrors recentErrors;
+
     @ExceptionHandler(CustomExceptions.ValidationException.class)
-    public ResponseEntity<ErrorResponse> handleValidationException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleValidationException(
             CustomExceptions.ValidationException ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        Map<String, Object> details = new HashMap<>();
-        details.put("field", ex.getField());
-        details.put("reason", ex.getReason());
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            "VALIDATION_ERROR",
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.VALIDATION_ERROR.code(),
             ex.getMessage(),
-            requestId,
-            request.getRequestURI(),
-            details
+            "field", ex.getField(),
+            "reason", ex.getReason()
         );
         
         logger.warn("Validation error: {} | Request ID: {}", ex.getMessage(), requestId);
-        return ResponseEntity.badRequest().body(errorResponse);
+        recordError(ErrorCode.VALIDATION_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.VALIDATION_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
     }
 
     @ExceptionHandler(CustomExceptions.ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleResourceNotFoundException(
             CustomExceptions.ResourceNotFoundException ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        Map<String, Object> details = new HashMap<>();
-        details.put("resourceType", ex.getResourceType());
-        details.put("resourceId", ex.getResourceId());
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            "RESOURCE_NOT_FOUND",
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.RESOURCE_NOT_FOUND.code(),
             ex.getMessage(),
-            requestId,
-            request.getRequestURI(),
-            details
+            "resourceType", ex.getResourceType(),
+            "resourceId", ex.getResourceId()
         );
         
         logger.warn("Resource not found: {} | Request ID: {}", ex.getMessage(), requestId);
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        recordError(ErrorCode.RESOURCE_NOT_FOUND, request, requestId);
+        return ResponseEntity.status(ErrorCode.RESOURCE_NOT_FOUND.status()).body(template.render(requestId, request.getRequestURI()));
     }
 
     @ExceptionHandler(CustomExceptions.BusinessLogicException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessLogicException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleBusinessLogicException(
             CustomExceptions.BusinessLogicException ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        ErrorResponse errorResponse = new ErrorResponse(
-            "BUSINESS_LOGIC_ERROR",
-            ex.getMessage(),
-            requestId,
-            request.getRequestURI()
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.BUSINESS_LOGIC_ERROR.code(),
+            ex.getMessage()
         );
         
         logger.warn("Business logic error: {} | Request ID: {}", ex.getMessage(), requestId);
-        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+        recordError(ErrorCode.BUSINESS_LOGIC_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.BUSINESS_LOGIC_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
     }
 
     @ExceptionHandler(CustomExceptions.ExternalServiceException.class)
-    public ResponseEntity<ErrorResponse> handleExternalServiceException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleExternalServiceException(
             CustomExceptions.ExternalServiceException ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        Map<String, Object> details = new HashMap<>();
-        details.put("serviceName", ex.getServiceName());
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            "EXTERNAL_SERVICE_ERROR",
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.EXTERNAL_SERVICE_ERROR.code(),
             ex.getMessage(),
-            requestId,
-            request.getRequestURI(),
-            details
+            "serviceName", ex.getServiceName()
         );
         
         logger.error("External service error: {} | Request ID: {}", ex.getMessage(), requestId);
-        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(errorResponse);
+        recordError(ErrorCode.EXTERNAL_SERVICE_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.EXTERNAL_SERVICE_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
+    }
+
+    @ExceptionHandler(CustomExceptions.DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleDeadlineExceededException(
+            CustomExceptions.DeadlineExceededException ex, HttpServletRequest request) {
+        String requestId = getRequestId(request);
+        
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.DEADLINE_EXCEEDED.code(),
+            ex.getMessage()
+        );
+        
+        logger.warn("Deadline exceeded: {} | Request ID: {}", ex.getMessage(), requestId);
+        recordError(ErrorCode.DEADLINE_EXCEEDED, request, requestId);
+        return ResponseEntity.status(ErrorCode.DEADLINE_EXCEEDED.status()).body(template.render(requestId, request.getRequestURI()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        Map<String, Object> details = new HashMap<>();
         FieldError fieldError = ex.getBindingResult().getFieldError();
-        if (fieldError != null) {
-            details.put("field", fieldError.getField());
-            details.put("reason", fieldError.getDefaultMessage());
-        }
-        
-        ErrorResponse errorResponse = new ErrorResponse(
-            "VALIDATION_ERROR",
-            "Request validation failed",
-            requestId,
-            request.getRequestURI(),
-            details
-        );
+        ErrorResponseTemplate template = fieldError != null
+            ? templates.get(
+                ErrorCode.VALIDATION_ERROR.code(),
+                "Request validation failed",
+                "field", fieldError.getField(),
+                "reason", fieldError.getDefaultMessage())
+            : templates.get(
+                ErrorCode.VALIDATION_ERROR.code(),
+                "Request validation failed");
         
         logger.warn("Method argument validation error | Request ID: {}", requestId);
-        return ResponseEntity.badRequest().body(errorResponse);
+        recordError(ErrorCode.VALIDATION_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.VALIDATION_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGenericException(
+    public ResponseEntity<ErrorResponseTemplate.Rendered> handleGenericException(
             Exception ex, HttpServletRequest request) {
         String requestId = getRequestId(request);
         
-        ErrorResponse errorResponse = new ErrorResponse(
-            "INTERNAL_SERVER_ERROR",
-            "An unexpected error occurred",
-            requestId,
-            request.getRequestURI()
+        ErrorResponseTemplate template = templates.get(
+            ErrorCode.INTERNAL_SERVER_ERROR.code(),
+            "An unexpected error occurred"
         );
         
-        logger.error("Unexpected error: {} | Request ID: {}", ex.getMessage(), requestId, ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        errorLogSampler.error(logger, ex, "Unexpected error: {} | Request ID: {}", ex.getMessage(), requestId);
+        recordError(ErrorCode.INTERNAL_SERVER_ERROR, request, requestId);
+        return ResponseEntity.status(ErrorCode.INTERNAL_SERVER_ERROR.status()).body(template.render(requestId, request.getRequestURI()));
+    }
+
+    private void recordError(ErrorCode errorCode, HttpServletRequest request, String requestId) {
+        errorMetrics.increment(errorCode, request);
+        recentErrors.record(errorCode.code(), errorCode.status(), request, requestId);
     }
 
     private String getRequestId(HttpServletRequest request) {
-        String requestId = request.getHeader("X-Request-ID");
-        if (requestId == null || requestId.isEmpty()) {
-            requestId = UUID.randomUUID().toString();
-        }
-        return requestId;
+        return RequestContext.requestId(request);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package com.example.service2.exception;
+
+import com.example.errorcontract.dto.ErrorResponseTemplate;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.exception.ErrorResponseTemplates;
+import com.example.errorcontract.logging.ErrorLogSampler;
+import com.example.errorcontract.metrics.ErrorMetrics;
+import com.example.errorcontract.metrics.RecentErrors;
+import com.example.errorcontract.web.ErrorResponseWriter;
+import com.example.errorcontract.web.PathTemplates;
+import com.example.errorcontract.web.RequestContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link GlobalExceptionHandler} for the WebFlux runtime. Answers every error that reaches it,
+ * framework ones included, with the same status, body, log line, metric and recent-error entry
+ * as the servlet handler, without depending on the servlet API. Ordered ahead of Spring Boot's
+ * own error handler.
+ */
+@Component
+@Order(-2)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class GlobalWebExceptionHandler implements WebExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalWebExceptionHandler.class);
+
+    @Autowired
+    private ErrorResponseTemplates templates;
+
+    @Autowired
+    private ErrorResponseWriter errorResponseWriter;
+
+    @Autowired
+    private ErrorMetrics errorMetrics;
+
+    @Autowired
+    private ErrorLogSampler errorLogSampler;
+
+    @Autowired
+    private RecentErrors recentErrors;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(ex);
+        }
+        String requestId = RequestContext.requestId(exchange);
+        ErrorCode errorCode;
+        ErrorResponseTemplate template;
+
+        // Log lines carry the request ID like the servlet ones; the exchange is not tied to this thread
+        MDC.put(RequestContext.MDC_KEY, requestId);
+        try {
+            if (ex instanceof CustomExceptions.ValidationException validation) {
+                errorCode = ErrorCode.VALIDATION_ERROR;
+                template = templates.get(
+                    errorCode.code(),
+                    validation.getMessage(),
+                    "field", validation.getField(),
+                    "reason", validation.getReason()
+                );
+                logger.warn("Validation error: {} | Request ID: {}", ex.getMessage(), requestId);
+            } else if (ex instanceof CustomExceptions.ResourceNotFoundException notFound) {
+                errorCode = ErrorCode.RESOURCE_NOT_FOUND;
+                template = templates.get(
+                    errorCode.code(),
+                    notFound.getMessage(),
+                    "resourceType", notFound.getResourceType(),
+                    "resourceId", notFound.getResourceId()
+                );
+                logger.warn("Resource not found: {} | Request ID: {}", ex.getMessage(), requestId);
+            } else if (ex instanceof CustomExceptions.BusinessLogicException) {
+                errorCode = ErrorCode.BUSINESS_LOGIC_ERROR;
+                template = templates.get(errorCode.code(), ex.getMessage());
+                logger.warn("Business logic error: {} | Request ID: {}", ex.getMessage(), requestId);
+            } else if (ex instanceof CustomExceptions.ExternalServiceException external) {
+                errorCode = ErrorCode.EXTERNAL_SERVICE_ERROR;
+                template = templates.get(
+                    errorCode.code(),
+                    external.getMessage(),
+                    "serviceName", external.getServiceName()
+                );
+                logger.error("External service error: {} | Request ID: {}", ex.getMessage(), requestId);
+            } else if (ex instanceof CustomExceptions.DeadlineExceededException) {
+                errorCode = ErrorCode.DEADLINE_EXCEEDED;
+                template = templates.get(errorCode.code(), ex.getMessage());
+                logger.warn("Deadline exceeded: {} | Request ID: {}", ex.getMessage(), requestId);
+            } else if (ex instanceof WebExchangeBindException bind) {
+                errorCode = ErrorCode.VALIDATION_ERROR;
+                FieldError fieldError = bind.getBindingResult().getFieldError();
+                template = fieldError != null
+                    ? templates.get(
+                        errorCode.code(),
+                        "Request validation failed",
+                        "field", fieldError.getField(),
+                        "reason", fieldError.getDefaultMessage())
+                    : templates.get(
+                        errorCode.code(),
+                        "Request validation failed");
+                logger.warn("Method argument validation error | Request ID: {}", requestId);
+            } else {
+                errorCode = ErrorCode.INTERNAL_SERVER_ERROR;
+                template = templates.get(errorCode.code(), "An unexpected error occurred");
+                errorLogSampler.error(logger, ex, "Unexpected error: {} | Request ID: {}", ex.getMessage(), requestId);
+            }
+        } finally {
+            MDC.remove(RequestContext.MDC_KEY);
+        }
+
+        String path = exchange.getRequest().getPath().value();
+        String pathTemplate = PathTemplates.of(exchange);
+        errorMetrics.increment(errorCode.code(), errorCode.status(), pathTemplate);
+        recentErrors.record(errorCode.code(), errorCode.status(), path, pathTemplate, requestId, 0);
+        return errorResponseWriter.write(exchange, errorCode.status(), template.render(requestId, path));
+    }
+}
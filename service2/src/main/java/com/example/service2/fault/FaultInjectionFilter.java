@@ -0,0 +1,101 @@
+package com.example.service2.fault;
+
+import com.example.service2.dto.FaultRule;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.connector.ClientAbortException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the faults {@link FaultInjector} draws for a request: sleeps for the injected latency,
+ * resets the connection, or hands an injected error to {@link FaultInjectionInterceptor} so it is
+ * answered through the regular exception handler, and optionally drips the response body out.
+ */
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    static final String ERROR_ATTRIBUTE = FaultInjectionFilter.class.getName() + ".error";
+
+    // Declared but never fully sent, so the client sees the connection die mid-response
+    private static final int RESET_DECLARED_LENGTH = 1024;
+    private static final byte[] RESET_PARTIAL_BODY = "{\"error\":".getBytes(StandardCharsets.UTF_8);
+
+    private final FaultInjector faultInjector;
+
+    public FaultInjectionFilter(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        FaultInjector.Fault fault = faultInjector.sample(request.getRequestURI());
+        if (fault == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (fault.latencyNanos() > 0) {
+            sleep(fault.latencyNanos());
+        }
+        if (fault.reset()) {
+            reset(response);
+            return;
+        }
+        if (fault.error() != null) {
+            request.setAttribute(ERROR_ATTRIBUTE, fault.error());
+        }
+        if (fault.slowBody() == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+        drip(buffered.getContentAsByteArray(), response, fault.slowBody());
+    }
+
+    /**
+     * Commits a response promising more body than is sent, then aborts the request: Tomcat closes a
+     * connection whose committed response cannot be completed, which the client sees as a reset.
+     * A {@link ClientAbortException} is neither logged nor dispatched to the error page.
+     */
+    private static void reset(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.setContentLength(RESET_DECLARED_LENGTH);
+        response.getOutputStream().write(RESET_PARTIAL_BODY);
+        response.flushBuffer();
+        throw new ClientAbortException("Injected connection reset");
+    }
+
+    private static void drip(byte[] body, HttpServletResponse response, FaultRule.SlowBody slowBody) throws IOException {
+        response.setContentLength(body.length);
+        ServletOutputStream out = response.getOutputStream();
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(slowBody.getChunkDelayMs());
+        for (int offset = 0; offset < body.length; offset += slowBody.getChunkBytes()) {
+            if (offset > 0) {
+                sleep(delayNanos);
+            }
+            out.write(body, offset, Math.min(slowBody.getChunkBytes(), body.length - offset));
+            out.flush();
+        }
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during injected delay");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.service2.fault;
+
+import com.example.errorcontract.exception.ErrorCode;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link FaultInjectionInterceptor}: fails the handler lookup with the error
+ * {@link ReactiveFaultInjectionFilter} drew for a request once the request has been mapped, so the
+ * injected error is answered, counted and recorded exactly like a real one.
+ */
+public class FaultInjectionHandlerMapping extends RequestMappingHandlerMapping {
+
+    @Override
+    public Mono<HandlerMethod> getHandlerInternal(ServerWebExchange exchange) {
+        Mono<HandlerMethod> handler = super.getHandlerInternal(exchange);
+        if (exchange.getAttribute(ReactiveFaultInjectionFilter.ERROR_ATTRIBUTE) instanceof ErrorCode errorCode) {
+            return handler.flatMap(mapped ->
+                    Mono.error(FaultInjector.injectedError(errorCode, exchange.getRequest().getPath().value())));
+        }
+        return handler;
+    }
+}
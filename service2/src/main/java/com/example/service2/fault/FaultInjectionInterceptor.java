@@ -0,0 +1,22 @@
+package com.example.service2.fault;
+
+import com.example.errorcontract.exception.ErrorCode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Throws the error {@link FaultInjectionFilter} drew for a request once it has been mapped to a
+ * handler, so the injected error is answered, counted and recorded exactly like a real one.
+ */
+public class FaultInjectionInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object error = request.getAttribute(FaultInjectionFilter.ERROR_ATTRIBUTE);
+        if (error instanceof ErrorCode errorCode) {
+            throw FaultInjector.injectedError(errorCode, request.getRequestURI());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.service2.fault;
+
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.service2.dto.FaultRule;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the active fault injection rules and decides, once per request, which faults it gets.
+ * Rules are replaced as a whole and read through one volatile field, so with no rules a request
+ * costs a single read.
+ */
+public class FaultInjector {
+
+    /**
+     * Error codes that can be injected, one per {@link CustomExceptions} type plus unexpected errors.
+     */
+    static final Set<ErrorCode> INJECTABLE_ERRORS = EnumSet.of(
+            ErrorCode.VALIDATION_ERROR,
+            ErrorCode.RESOURCE_NOT_FOUND,
+            ErrorCode.BUSINESS_LOGIC_ERROR,
+            ErrorCode.EXTERNAL_SERVICE_ERROR,
+            ErrorCode.DEADLINE_EXCEEDED,
+            ErrorCode.INTERNAL_SERVER_ERROR);
+
+    // Never injected, so the admin endpoint and health checks stay reachable
+    private static final List<String> EXEMPT_PREFIXES = List.of("/api/v1/internal/", "/actuator");
+
+    private static final long DEFAULT_LATENCY_CAP_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private volatile List<CompiledRule> rules = List.of();
+    private volatile List<FaultRule> configured = List.of();
+
+    public List<FaultRule> getRules() {
+        return configured;
+    }
+
+    /**
+     * Validates and activates {@code newRules}, replacing the current ones; an empty list disables
+     * injection.
+     */
+    public void setRules(List<FaultRule> newRules) {
+        List<CompiledRule> compiled = new ArrayList<>(newRules.size());
+        for (FaultRule rule : newRules) {
+            compiled.add(compile(rule));
+        }
+        configured = List.copyOf(newRules);
+        rules = List.copyOf(compiled);
+    }
+
+    /**
+     * @return the faults for this request, or {@code null} when no rule applies
+     */
+    Fault sample(String path) {
+        List<CompiledRule> active = rules;
+        if (active.isEmpty() || isExempt(path)) {
+            return null;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (CompiledRule rule : active) {
+            if (rule.pattern.matches(pathContainer)) {
+                return rule.sample();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the exception an injected {@code errorCode} is raised as, the same type real errors
+     * with that code are thrown as
+     */
+    static RuntimeException injectedError(ErrorCode errorCode, String path) {
+        return switch (errorCode) {
+            case VALIDATION_ERROR -> new CustomExceptions.ValidationException(
+                "Injected validation failure", "faultInjection", "Injected by a fault injection rule");
+            case RESOURCE_NOT_FOUND -> new CustomExceptions.ResourceNotFoundException(
+                "Injected resource not found", "FaultInjection", path);
+            case BUSINESS_LOGIC_ERROR -> new CustomExceptions.BusinessLogicException("Injected business rule violation");
+            case EXTERNAL_SERVICE_ERROR -> new CustomExceptions.ExternalServiceException(
+                "Injected external service failure", "fault-injection");
+            case DEADLINE_EXCEEDED -> new CustomExceptions.DeadlineExceededException("Injected deadline exceeded");
+            default -> new IllegalStateException("Injected unexpected failure");
+        };
+    }
+
+    private static boolean isExempt(String path) {
+        for (String prefix : EXEMPT_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CompiledRule compile(FaultRule rule) {
+        if (rule.getPath() == null || rule.getPath().isEmpty()) {
+            throw invalid("path", "Path pattern must be specified");
+        }
+        PathPattern pattern;
+        try {
+            pattern = PathPatternParser.defaultInstance.parse(rule.getPath());
+        } catch (IllegalArgumentException e) {
+            throw invalid("path", "Invalid path pattern: " + e.getMessage());
+        }
+
+        Map<ErrorCode, Double> errors = rule.getErrors() != null ? rule.getErrors() : Map.of();
+        ErrorCode[] errorCodes = new ErrorCode[errors.size()];
+        double[] cumulative = new double[errors.size()];
+        double total = 0;
+        int i = 0;
+        for (Map.Entry<ErrorCode, Double> error : errors.entrySet()) {
+            if (!INJECTABLE_ERRORS.contains(error.getKey())) {
+                throw invalid("errors", "Injectable error codes are " + INJECTABLE_ERRORS);
+            }
+            total += probability("errors", error.getValue());
+            errorCodes[i] = error.getKey();
+            cumulative[i++] = total;
+        }
+        if (total > 1) {
+            throw invalid("errors", "Error probabilities must add up to at most 1");
+        }
+
+        FaultRule.SlowBody slowBody = rule.getSlowBody();
+        if (slowBody != null) {
+            probability("slowBody.probability", slowBody.getProbability());
+            if (slowBody.getChunkBytes() <= 0 || slowBody.getChunkDelayMs() < 0) {
+                throw invalid("slowBody", "Chunk size must be positive and chunk delay not negative");
+            }
+        }
+
+        return new CompiledRule(pattern, compileLatency(rule.getLatency()), errorCodes, cumulative,
+                probability("resetProbability", rule.getResetProbability()), slowBody);
+    }
+
+    private static LatencySampler compileLatency(FaultRule.Latency latency) {
+        if (latency == null) {
+            return () -> 0;
+        }
+        if (latency.getDistribution() == null) {
+            throw invalid("latency.distribution", "Distribution must be one of FIXED, UNIFORM, LOG_NORMAL");
+        }
+        long capMs = latency.getMaxMs() > 0 ? latency.getMaxMs() : DEFAULT_LATENCY_CAP_MS;
+        long capNanos = TimeUnit.MILLISECONDS.toNanos(capMs);
+        switch (latency.getDistribution()) {
+            case FIXED -> {
+                long nanos = Math.min(TimeUnit.MILLISECONDS.toNanos(nonNegative("latency.valueMs", latency.getValueMs())), capNanos);
+                return () -> nanos;
+            }
+            case UNIFORM -> {
+                long minNanos = TimeUnit.MILLISECONDS.toNanos(nonNegative("latency.minMs", latency.getMinMs()));
+                if (latency.getMaxMs() <= 0 || latency.getMaxMs() < latency.getMinMs()) {
+                    throw invalid("latency.maxMs", "Uniform latency needs a maxMs at or above minMs");
+                }
+                long spanNanos = capNanos - minNanos;
+                return () -> minNanos + (spanNanos > 0 ? ThreadLocalRandom.current().nextLong(spanNanos + 1) : 0);
+            }
+            case LOG_NORMAL -> {
+                if (latency.getMedianMs() <= 0 || latency.getSigma() < 0) {
+                    throw invalid("latency", "Log-normal latency needs a positive medianMs and a non-negative sigma");
+                }
+                double mu = Math.log(TimeUnit.MILLISECONDS.toNanos(latency.getMedianMs()));
+                double sigma = latency.getSigma();
+                return () -> Math.min((long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()), capNanos);
+            }
+        }
+        throw invalid("latency.distribution", "Unknown distribution");
+    }
+
+    private static double probability(String field, Double value) {
+        if (value == null || value < 0 || value > 1) {
+            throw invalid(field, "Probability must be between 0 and 1");
+        }
+        return value;
+    }
+
+    private static long nonNegative(String field, long value) {
+        if (value < 0) {
+            throw invalid(field, "Must not be negative");
+        }
+        return value;
+    }
+
+    private static CustomExceptions.ValidationException invalid(String field, String reason) {
+        return new CustomExceptions.ValidationException("Invalid fault injection rule", field, reason);
+    }
+
+    @FunctionalInterface
+    private interface LatencySampler {
+        long sampleNanos();
+    }
+
+    private record CompiledRule(PathPattern pattern, LatencySampler latency, ErrorCode[] errorCodes,
+                                double[] cumulativeErrorProbabilities, double resetProbability,
+                                FaultRule.SlowBody slowBody) {
+
+        Fault sample() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latencyNanos = latency.sampleNanos();
+            if (resetProbability > 0 && random.nextDouble() < resetProbability) {
+                return new Fault(latencyNanos, null, true, null);
+            }
+            ErrorCode error = null;
+            if (errorCodes.length > 0) {
+                double draw = random.nextDouble();
+                for (int i = 0; i < errorCodes.length; i++) {
+                    if (draw < cumulativeErrorProbabilities[i]) {
+                        error = errorCodes[i];
+                        break;
+                    }
+                }
+            }
+            FaultRule.SlowBody slow = slowBody != null && random.nextDouble() < slowBody.getProbability() ? slowBody : null;
+            return new Fault(latencyNanos, error, false, slow);
+        }
+    }
+
+    /**
+     * Faults drawn for one request: added latency, then either a connection reset or an optional
+     * injected error, and optionally a slowly written response body.
+     */
+    record Fault(long latencyNanos, ErrorCode error, boolean reset, FaultRule.SlowBody slowBody) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.service2.fault;
+
+import com.example.service2.dto.FaultRule;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * {@link FaultInjectionFilter} for the WebFlux runtime. Injected latency is a timer rather than a
+ * sleeping thread, so delayed requests hold no thread while they wait; an injected error is
+ * raised by {@link FaultInjectionHandlerMapping} once the request has been mapped.
+ * <p>
+ * A slow body only applies to responses written through the filter chain. Error responses are
+ * written by the exception handler outside it and are sent at once.
+ */
+public class ReactiveFaultInjectionFilter implements WebFilter, Ordered {
+
+    static final String ERROR_ATTRIBUTE = ReactiveFaultInjectionFilter.class.getName() + ".error";
+
+    // Declared but never fully sent, so the client sees the connection die mid-response
+    private static final int RESET_DECLARED_LENGTH = 1024;
+    private static final byte[] RESET_PARTIAL_BODY = "{\"error\":".getBytes(StandardCharsets.UTF_8);
+
+    private final FaultInjector faultInjector;
+
+    public ReactiveFaultInjectionFilter(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        FaultInjector.Fault fault = faultInjector.sample(exchange.getRequest().getPath().value());
+        if (fault == null) {
+            return chain.filter(exchange);
+        }
+        Mono<Void> faulted = Mono.defer(() -> apply(fault, exchange, chain));
+        return fault.latencyNanos() > 0
+                ? Mono.delay(Duration.ofNanos(fault.latencyNanos())).then(faulted)
+                : faulted;
+    }
+
+    private static Mono<Void> apply(FaultInjector.Fault fault, ServerWebExchange exchange, WebFilterChain chain) {
+        if (fault.reset()) {
+            return reset(exchange.getResponse());
+        }
+        if (fault.error() != null) {
+            exchange.getAttributes().put(ERROR_ATTRIBUTE, fault.error());
+        }
+        if (fault.slowBody() == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new DrippingResponse(exchange.getResponse(), fault.slowBody())).build());
+    }
+
+    /**
+     * Sends the headers of a response promising more body than follows, then closes the
+     * connection (or, over HTTP/2, the stream), which the client sees as a reset.
+     */
+    private static Mono<Void> reset(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(RESET_DECLARED_LENGTH);
+        HttpServerResponse nativeResponse = ServerHttpResponseDecorator.getNativeResponse(response);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(RESET_PARTIAL_BODY)))
+                .then(Mono.fromRunnable(() -> nativeResponse.withConnection(Connection::dispose)));
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after the request context, so injected errors still carry the request ID
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    /**
+     * Collects the body and writes it {@code chunkBytes} at a time, flushing each chunk and
+     * waiting {@code chunkDelayMs} on a timer between them.
+     */
+    private static final class DrippingResponse extends ServerHttpResponseDecorator {
+
+        private final FaultRule.SlowBody slowBody;
+
+        DrippingResponse(ServerHttpResponse delegate, FaultRule.SlowBody slowBody) {
+            super(delegate);
+            this.slowBody = slowBody;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                getHeaders().setContentLength(bytes.length);
+
+                Duration delay = Duration.ofMillis(slowBody.getChunkDelayMs());
+                int chunkBytes = slowBody.getChunkBytes();
+                Flux<Publisher<DataBuffer>> chunks = Flux.range(0, (bytes.length + chunkBytes - 1) / chunkBytes)
+                        .concatMap(chunk -> chunk == 0 ? Mono.just(chunk) : Mono.delay(delay).thenReturn(chunk))
+                        .map(chunk -> {
+                            int offset = chunk * chunkBytes;
+                            int length = Math.min(chunkBytes, bytes.length - offset);
+                            return Mono.just(bufferFactory().wrap(Arrays.copyOfRange(bytes, offset, offset + length)));
+                        });
+                return writeAndFlushWith(chunks);
+            });
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.service2.service;
+
+import com.example.errorcontract.dto.ErrorResponse;
+import com.example.errorcontract.dto.SuccessResponse;
+import com.example.errorcontract.dto.UserValidationResult;
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.validation.UserValidationRules;
+import com.example.errorcontract.web.Deadline;
+import com.example.service2.dto.BatchItemResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The demo endpoints' behaviour, shared by the servlet and the WebFlux controllers so both
+ * runtimes answer every request the same way.
+ */
+@Service
+public class ErrorDemoService {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    public static final SuccessResponse SUCCESS = new SuccessResponse("Operation completed successfully", "service2");
+
+    public CustomExceptions.ValidationException validationError() {
+        return CustomExceptions.isCaptureStackTraces() ? newValidationError() : ConstantErrors.VALIDATION_ERROR;
+    }
+
+    public CustomExceptions.ResourceNotFoundException notFound() {
+        return CustomExceptions.isCaptureStackTraces() ? newNotFound() : ConstantErrors.NOT_FOUND;
+    }
+
+    public CustomExceptions.BusinessLogicException businessError() {
+        return CustomExceptions.isCaptureStackTraces() ? newBusinessError() : ConstantErrors.BUSINESS_ERROR;
+    }
+
+    public CustomExceptions.ExternalServiceException externalServiceError() {
+        return CustomExceptions.isCaptureStackTraces() ? newExternalServiceError() : ConstantErrors.EXTERNAL_SERVICE_ERROR;
+    }
+
+    public RuntimeException internalError() {
+        return new RuntimeException("Unexpected database connection failure");
+    }
+
+    public UserValidationResult validate(Map<String, String> user, Deadline deadline) {
+        checkDeadline(deadline);
+        return validate(user);
+    }
+
+    /**
+     * Validates up to {@value #MAX_BATCH_SIZE} users in one call. Results keep the request order,
+     * and each one carries the status and body {@code /validate-user} would have returned for it.
+     */
+    public Map<String, List<BatchItemResult>> validateBatch(List<Map<String, String>> users, String requestId,
+                                                           String path, Deadline deadline) {
+        if (users.size() > MAX_BATCH_SIZE) {
+            throw new CustomExceptions.ValidationException(
+                "Batch too large",
+                "users",
+                "At most " + MAX_BATCH_SIZE + " users can be validated per request"
+            );
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(users.size());
+        for (Map<String, String> user : users) {
+            checkDeadline(deadline);
+            try {
+                results.add(BatchItemResult.success(validate(user != null ? user : Map.of())));
+            } catch (CustomExceptions.ValidationException ex) {
+                results.add(BatchItemResult.failure(ErrorCode.VALIDATION_ERROR.status().value(), new ErrorResponse.ErrorDetails(
+                    ErrorCode.VALIDATION_ERROR.code(),
+                    ex.getMessage(),
+                    requestId,
+                    path,
+                    Map.of("field", ex.getField(), "reason", ex.getReason())
+                )));
+            }
+        }
+        return Map.of("results", results);
+    }
+
+    /**
+     * Abandons the request once the caller's budget is spent; the caller has stopped waiting.
+     */
+    public void checkDeadline(Deadline deadline) {
+        if (deadline != null && deadline.isExpired()) {
+            throw new CustomExceptions.DeadlineExceededException("Request deadline exceeded before processing completed");
+        }
+    }
+
+    private static UserValidationResult validate(Map<String, String> user) {
+        String email = user.get("email");
+        String name = user.get("name");
+        UserValidationRules.validate(email, name);
+        return new UserValidationResult("User validation successful", email, name);
+    }
+
+    private static CustomExceptions.ValidationException newValidationError() {
+        return new CustomExceptions.ValidationException(
+            "Invalid email format",
+            "email",
+            "Email must contain @ symbol"
+        );
+    }
+
+    private static CustomExceptions.ResourceNotFoundException newNotFound() {
+        return new CustomExceptions.ResourceNotFoundException(
+            "User not found",
+            "User",
+            "12345"
+        );
+    }
+
+    private static CustomExceptions.BusinessLogicException newBusinessError() {
+        return new CustomExceptions.BusinessLogicException(
+            "Account balance insufficient for this operation"
+        );
+    }
+
+    private static CustomExceptions.ExternalServiceException newExternalServiceError() {
+        return new CustomExceptions.ExternalServiceException(
+            "Payment gateway is currently unavailable",
+            "payment-service"
+        );
+    }
+
+    /**
+     * Shared instances for the constant demo errors. The holder is only initialized from the
+     * stackless branch, so the instances are created without a stack trace or suppression and
+     * can be rethrown safely from any thread.
+     */
+    private static final class ConstantErrors {
+        static final CustomExceptions.ValidationException VALIDATION_ERROR = newValidationError();
+        static final CustomExceptions.ResourceNotFoundException NOT_FOUND = newNotFound();
+        static final CustomExceptions.BusinessLogicException BUSINESS_ERROR = newBusinessError();
+        static final CustomExceptions.ExternalServiceException EXTERNAL_SERVICE_ERROR = newExternalServiceError();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.service2.controller;
+
+import com.example.errorcontract.web.RequestContext;
+import com.example.service2.Service2Application;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The servlet and reactive runtimes must answer every error route the same way: status, error
+ * body (apart from its timestamp) and {@code X-Request-ID}.
+ */
+class RuntimeParityTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> BODY_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+
+    @BeforeAll
+    static void startBothRuntimes() {
+        servlet = start("servlet");
+        reactive = start("reactive");
+    }
+
+    @AfterAll
+    static void stopBothRuntimes() {
+        if (servlet != null) {
+            servlet.close();
+        }
+        if (reactive != null) {
+            reactive.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "GET /api/v1/validation-error",
+            "GET /api/v1/not-found",
+            "GET /api/v1/business-error",
+            "GET /api/v1/external-service-error",
+            "GET /api/v1/internal-error",
+            "POST /api/v1/validate-user"
+    })
+    void errorRoutesAnswerTheSameOnBothRuntimes(String route) {
+        String requestId = "parity-" + Math.abs(route.hashCode());
+
+        EntityExchangeResult<Map<String, Object>> fromServlet = call(servlet, route, requestId);
+        EntityExchangeResult<Map<String, Object>> fromReactive = call(reactive, route, requestId);
+
+        assertThat(fromServlet.getStatus().isError()).isTrue();
+        assertThat(fromReactive.getStatus()).isEqualTo(fromServlet.getStatus());
+        assertThat(fromServlet.getResponseHeaders().getFirst(RequestContext.HEADER)).isEqualTo(requestId);
+        assertThat(fromReactive.getResponseHeaders().getFirst(RequestContext.HEADER)).isEqualTo(requestId);
+        assertThat(fromReactive.getResponseHeaders().getContentType())
+                .isEqualTo(fromServlet.getResponseHeaders().getContentType());
+
+        Map<String, Object> servletError = error(fromServlet);
+        assertThat(servletError).containsEntry("requestId", requestId).containsKey("code").containsKey("message");
+        assertThat(error(fromReactive)).isEqualTo(servletError);
+    }
+
+    private static ConfigurableApplicationContext start(String runtime) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Service2Application.class);
+        if (runtime.equals("reactive")) {
+            builder.profiles("reactive");
+        }
+        // Arguments rather than default properties, which application.yml would override
+        return builder.run("--server.port=0", "--spring.jmx.enabled=false");
+    }
+
+    private static EntityExchangeResult<Map<String, Object>> call(ConfigurableApplicationContext context,
+                                                                 String route, String requestId) {
+        String[] methodAndPath = route.split(" ");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        WebTestClient client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+        WebTestClient.RequestBodySpec request = client.method(HttpMethod.valueOf(methodAndPath[0]))
+                .uri(methodAndPath[1])
+                .header(RequestContext.HEADER, requestId)
+                .accept(MediaType.APPLICATION_JSON);
+        WebTestClient.RequestHeadersSpec<?> spec = methodAndPath[0].equals("POST")
+                ? request.contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("email", "not-an-email", "name", ""))
+                : request;
+        return spec.exchange().expectBody(BODY_TYPE).returnResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> error(EntityExchangeResult<Map<String, Object>> result) {
+        assertThat(result.getResponseBody()).containsKey("error");
+        Map<String, Object> error = new HashMap<>((Map<String, Object>) result.getResponseBody().get("error"));
+        // The only field that legitimately differs between two calls
+        assertThat(error.remove("timestamp")).isNotNull();
+        return error;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.service2.fault;
+
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.errorcontract.web.RequestContext;
+import com.example.service2.dto.FaultRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Fault injection end to end through {@code /api/v1/internal/faults}; run once per web runtime
+ * by the subclasses.
+ */
+abstract class AbstractFaultInjectionTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @AfterEach
+    void clearRules() {
+        client.delete().uri("/api/v1/internal/faults").exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void injectedErrorIsAnsweredLikeARealOne() {
+        FaultRule rule = rule();
+        rule.setErrors(Map.of(ErrorCode.RESOURCE_NOT_FOUND, 1.0));
+        setRules(rule);
+
+        client.get().uri("/api/v1/success")
+                .header(RequestContext.HEADER, "fault-test-1")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_FOUND)
+                .expectHeader().valueEquals(RequestContext.HEADER, "fault-test-1")
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo(ErrorCode.RESOURCE_NOT_FOUND.code())
+                .jsonPath("$.error.requestId").isEqualTo("fault-test-1")
+                .jsonPath("$.error.path").isEqualTo("/api/v1/success");
+    }
+
+    @Test
+    void internalEndpointsAreNotFaulted() {
+        FaultRule rule = rule();
+        rule.setPath("/**");
+        rule.setResetProbability(1.0);
+        setRules(rule);
+
+        client.get().uri("/api/v1/internal/faults").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].resetProbability").isEqualTo(1.0);
+    }
+
+    @Test
+    void resetClosesTheConnectionMidResponse() {
+        FaultRule rule = rule();
+        rule.setResetProbability(1.0);
+        setRules(rule);
+
+        assertThatThrownBy(() -> client.get().uri("/api/v1/success").exchange()
+                .expectBody(byte[].class).returnResult())
+                .hasStackTraceContaining("prematurely closed");
+    }
+
+    @Test
+    void slowBodyIsDrippedOutIntact() {
+        byte[] expected = client.get().uri("/api/v1/success").exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        FaultRule.SlowBody slowBody = new FaultRule.SlowBody();
+        slowBody.setProbability(1.0);
+        slowBody.setChunkBytes(16);
+        slowBody.setChunkDelayMs(20);
+        FaultRule rule = rule();
+        rule.setSlowBody(slowBody);
+        setRules(rule);
+
+        long start = System.nanoTime();
+        byte[] body = client.get().uri("/api/v1/success").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentLength(expected.length)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(body).isEqualTo(expected);
+        int delays = (expected.length + 15) / 16 - 1;
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(20L * delays));
+    }
+
+    @Test
+    void invalidRuleIsRejectedAsAValidationError() {
+        FaultRule rule = rule();
+        rule.setResetProbability(2.0);
+
+        client.put().uri("/api/v1/internal/faults").bodyValue(List.of(rule)).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo(ErrorCode.VALIDATION_ERROR.code())
+                .jsonPath("$.error.details.field").isEqualTo("resetProbability");
+    }
+
+    private void setRules(FaultRule... rules) {
+        client.put().uri("/api/v1/internal/faults").bodyValue(List.of(rules)).exchange().expectStatus().isOk();
+    }
+
+    private static FaultRule rule() {
+        FaultRule rule = new FaultRule();
+        rule.setPath("/api/v1/success");
+        return rule;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.service2.fault;
+
+import com.example.errorcontract.exception.CustomExceptions;
+import com.example.errorcontract.exception.ErrorCode;
+import com.example.service2.dto.FaultRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class FaultInjectorTest {
+
+    private static final int DRAWS = 20_000;
+
+    private final FaultInjector injector = new FaultInjector();
+
+    @Test
+    void noRulesMeansNoFaults() {
+        assertThat(injector.sample("/api/v1/success")).isNull();
+    }
+
+    @Test
+    void internalAndActuatorPathsAreNeverFaulted() {
+        injector.setRules(List.of(rule("/**", r -> r.setErrors(errors(ErrorCode.INTERNAL_SERVER_ERROR, 1.0)))));
+
+        assertThat(injector.sample("/api/v1/internal/faults")).isNull();
+        assertThat(injector.sample("/actuator/health")).isNull();
+        assertThat(injector.sample("/api/v1/success").error()).isEqualTo(ErrorCode.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void firstMatchingRuleApplies() {
+        injector.setRules(List.of(
+                rule("/api/v1/not-found", r -> r.setErrors(errors(ErrorCode.RESOURCE_NOT_FOUND, 1.0))),
+                rule("/api/v1/**", r -> r.setErrors(errors(ErrorCode.BUSINESS_LOGIC_ERROR, 1.0)))));
+
+        assertThat(injector.sample("/api/v1/not-found").error()).isEqualTo(ErrorCode.RESOURCE_NOT_FOUND);
+        assertThat(injector.sample("/api/v1/success").error()).isEqualTo(ErrorCode.BUSINESS_LOGIC_ERROR);
+        assertThat(injector.sample("/other")).isNull();
+    }
+
+    @Test
+    void errorsAreDrawnFromTheirCumulativeProbabilities() {
+        Map<ErrorCode, Double> errors = new LinkedHashMap<>();
+        errors.put(ErrorCode.VALIDATION_ERROR, 0.2);
+        errors.put(ErrorCode.RESOURCE_NOT_FOUND, 0.3);
+        injector.setRules(List.of(rule("/api/v1/**", r -> r.setErrors(errors))));
+
+        Map<ErrorCode, Integer> counts = new EnumMap<>(ErrorCode.class);
+        int none = 0;
+        for (int i = 0; i < DRAWS; i++) {
+            ErrorCode error = injector.sample("/api/v1/success").error();
+            if (error == null) {
+                none++;
+            } else {
+                counts.merge(error, 1, Integer::sum);
+            }
+        }
+
+        assertThat(counts).containsOnlyKeys(ErrorCode.VALIDATION_ERROR, ErrorCode.RESOURCE_NOT_FOUND);
+        assertThat(counts.get(ErrorCode.VALIDATION_ERROR) / (double) DRAWS).isCloseTo(0.2, within(0.02));
+        assertThat(counts.get(ErrorCode.RESOURCE_NOT_FOUND) / (double) DRAWS).isCloseTo(0.3, within(0.02));
+        assertThat(none / (double) DRAWS).isCloseTo(0.5, within(0.02));
+    }
+
+    @Test
+    void probabilitiesAddingUpToOneAlwaysInjectAnError() {
+        Map<ErrorCode, Double> errors = new LinkedHashMap<>();
+        errors.put(ErrorCode.VALIDATION_ERROR, 0.5);
+        errors.put(ErrorCode.DEADLINE_EXCEEDED, 0.5);
+        injector.setRules(List.of(rule("/api/v1/**", r -> r.setErrors(errors))));
+
+        for (int i = 0; i < DRAWS; i++) {
+            assertThat(injector.sample("/api/v1/success").error()).isNotNull();
+        }
+    }
+
+    @Test
+    void fixedLatencyIsCappedAtMaxMs() {
+        injector.setRules(List.of(rule("/api/v1/**", r -> r.setLatency(
+                latency(FaultRule.Latency.Distribution.FIXED, l -> {
+                    l.setValueMs(100);
+                    l.setMaxMs(40);
+                })))));
+
+        assertThat(injector.sample("/api/v1/success").latencyNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void uniformLatencyStaysWithinMinAndMax() {
+        injector.setRules(List.of(rule("/api/v1/**", r -> r.setLatency(
+                latency(FaultRule.Latency.Distribution.UNIFORM, l -> {
+                    l.setMinMs(10);
+                    l.setMaxMs(20);
+                })))));
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < DRAWS; i++) {
+            long nanos = injector.sample("/api/v1/success").latencyNanos();
+            min = Math.min(min, nanos);
+            max = Math.max(max, nanos);
+        }
+
+        assertThat(min).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10)).isLessThan(TimeUnit.MILLISECONDS.toNanos(11));
+        assertThat(max).isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20)).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(19));
+    }
+
+    @Test
+    void logNormalLatencyIsCenteredOnTheMedianAndCapped() {
+        injector.setRules(List.of(rule("/api/v1/**", r -> r.setLatency(
+                latency(FaultRule.Latency.Distribution.LOG_NORMAL, l -> {
+                    l.setMedianMs(10);
+                    l.setSigma(1.0);
+                    l.setMaxMs(50);
+                })))));
+
+        long capNanos = TimeUnit.MILLISECONDS.toNanos(50);
+        long medianNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        int belowMedian = 0;
+        int capped = 0;
+        for (int i = 0; i < DRAWS; i++) {
+            long nanos = injector.sample("/api/v1/success").latencyNanos();
+            assertThat(nanos).isPositive().isLessThanOrEqualTo(capNanos);
+            if (nanos < medianNanos) {
+                belowMedian++;
+            }
+            if (nanos == capNanos) {
+                capped++;
+            }
+        }
+
+        assertThat(belowMedian / (double) DRAWS).isCloseTo(0.5, within(0.02));
+        // P(Z > ln 5) is about 5.4% for sigma 1
+        assertThat(capped / (double) DRAWS).isCloseTo(0.054, within(0.01));
+    }
+
+    @Test
+    void resetTakesPrecedenceOverErrorsAndSlowBody() {
+        injector.setRules(List.of(rule("/api/v1/**", r -> {
+            r.setResetProbability(1.0);
+            r.setErrors(errors(ErrorCode.VALIDATION_ERROR, 1.0));
+            r.setSlowBody(slowBody(1.0, 16));
+        })));
+
+        FaultInjector.Fault fault = injector.sample("/api/v1/success");
+
+        assertThat(fault.reset()).isTrue();
+        assertThat(fault.error()).isNull();
+        assertThat(fault.slowBody()).isNull();
+    }
+
+    @Test
+    void invalidRulesAreRejectedWithTheOffendingField() {
+        assertInvalid("path", rule("/api/{", r -> { }));
+        assertInvalid("path", rule("", r -> { }));
+        assertInvalid("errors", rule("/api/v1/**", r -> r.setErrors(errors(ErrorCode.DOWNSTREAM_SERVICE_ERROR, 0.1))));
+        assertInvalid("errors", rule("/api/v1/**", r -> r.setErrors(errors(ErrorCode.VALIDATION_ERROR, -0.1))));
+        assertInvalid("errors", rule("/api/v1/**", r -> {
+            Map<ErrorCode, Double> errors = new LinkedHashMap<>();
+            errors.put(ErrorCode.VALIDATION_ERROR, 0.6);
+            errors.put(ErrorCode.RESOURCE_NOT_FOUND, 0.6);
+            r.setErrors(errors);
+        }));
+        assertInvalid("resetProbability", rule("/api/v1/**", r -> r.setResetProbability(1.5)));
+        assertInvalid("slowBody.probability", rule("/api/v1/**", r -> r.setSlowBody(slowBody(2.0, 16))));
+        assertInvalid("slowBody", rule("/api/v1/**", r -> r.setSlowBody(slowBody(1.0, 0))));
+        assertInvalid("latency.distribution", rule("/api/v1/**", r -> r.setLatency(latency(null, l -> { }))));
+        assertInvalid("latency.valueMs", rule("/api/v1/**", r -> r.setLatency(
+                latency(FaultRule.Latency.Distribution.FIXED, l -> l.setValueMs(-1)))));
+        assertInvalid("latency.maxMs", rule("/api/v1/**", r -> r.setLatency(
+                latency(FaultRule.Latency.Distribution.UNIFORM, l -> {
+                    l.setMinMs(20);
+                    l.setMaxMs(10);
+                }))));
+        assertInvalid("latency", rule("/api/v1/**", r -> r.setLatency(
+                latency(FaultRule.Latency.Distribution.LOG_NORMAL, l -> l.setMedianMs(0)))));
+    }
+
+    @Test
+    void rejectedRulesLeaveTheActiveOnesInPlace() {
+        List<FaultRule> active = List.of(rule("/api/v1/**", r -> r.setErrors(errors(ErrorCode.VALIDATION_ERROR, 1.0))));
+        injector.setRules(active);
+
+        assertThatThrownBy(() -> injector.setRules(List.of(rule("/api/v1/**", r -> r.setResetProbability(2)))))
+                .isInstanceOf(CustomExceptions.ValidationException.class);
+
+        assertThat(injector.getRules()).isEqualTo(active);
+        assertThat(injector.sample("/api/v1/success").error()).isEqualTo(ErrorCode.VALIDATION_ERROR);
+    }
+
+    private void assertInvalid(String field, FaultRule rule) {
+        assertThatThrownBy(() -> injector.setRules(List.of(rule)))
+                .isInstanceOfSatisfying(CustomExceptions.ValidationException.class,
+                        ex -> assertThat(ex.getField()).isEqualTo(field));
+    }
+
+    private static FaultRule rule(String path, Consumer<FaultRule> customizer) {
+        FaultRule rule = new FaultRule();
+        rule.setPath(path);
+        customizer.accept(rule);
+        return rule;
+    }
+
+    private static Map<ErrorCode, Double> errors(ErrorCode code, double probability) {
+        Map<ErrorCode, Double> errors = new LinkedHashMap<>();
+        errors.put(code, probability);
+        return errors;
+    }
+
+    private static FaultRule.Latency latency(FaultRule.Latency.Distribution distribution,
+                                             Consumer<FaultRule.Latency> customizer) {
+        FaultRule.Latency latency = new FaultRule.Latency();
+        latency.setDistribution(distribution);
+        customizer.accept(latency);
+        return latency;
+    }
+
+    private static FaultRule.SlowBody slowBody(double probability, int chunkBytes) {
+        FaultRule.SlowBody slowBody = new FaultRule.SlowBody();
+        slowBody.setProbability(probability);
+        slowBody.setChunkBytes(chunkBytes);
+        return slowBody;
+    }
+}
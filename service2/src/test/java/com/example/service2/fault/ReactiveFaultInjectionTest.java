@@ -0,0 +1,10 @@
+package com.example.service2.fault;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "fault-injection.enabled=true")
+@ActiveProfiles("reactive")
+class ReactiveFaultInjectionTest extends AbstractFaultInjectionTest {
+}
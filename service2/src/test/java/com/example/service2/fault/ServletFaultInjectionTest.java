@@ -0,0 +1,8 @@
+package com.example.service2.fault;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "fault-injection.enabled=true")
+class ServletFaultInjectionTest extends AbstractFaultInjectionTest {
+}